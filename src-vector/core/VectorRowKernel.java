@@ -0,0 +1,120 @@
+package core;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * VectorRowKernel類別：以 Vector API (jdk.incubator.vector) 實作的 RowKernel
+ * 使用平台偏好的向量寬度（AVX-512 上一次 8 個 double），剩餘元素以純量處理。
+ * 只使用逐元素的加、乘、除與 max（不使用 FMA），結果與 ScalarRowKernel 逐位元相同
+ * （列中的值皆為非負數，max 與純量版的嚴格大於比較一致）。
+ *
+ * 此檔案位於獨立的 src-vector 原始碼目錄，需另外編譯並在執行時載入模組：
+ *   javac -encoding UTF-8 --add-modules jdk.incubator.vector -cp bin -d bin src-vector/core/VectorRowKernel.java
+ *   java --add-modules jdk.incubator.vector -cp bin Main
+ * 未編譯或未載入模組時 RowKernels 會退回純量實作。
+ */
+public final class VectorRowKernel implements RowKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final RowKernel SCALAR = new ScalarRowKernel();
+
+    @Override
+    public void maxOfSums(double[] row, int rowStart, double base, double[] addends, int addendStart, int width) {
+        int bound = SPECIES.loopBound(width);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector sums = DoubleVector.fromArray(SPECIES, addends, addendStart + i).add(base);
+            DoubleVector.fromArray(SPECIES, row, rowStart + i).max(sums).intoArray(row, rowStart + i);
+        }
+        SCALAR.maxOfSums(row, rowStart + i, base, addends, addendStart + i, width - i);
+    }
+
+    @Override
+    public void maxOfScaledSums(double[] row, int rowStart, double base, double scale, double[] factors, int factorStart, int width) {
+        int bound = SPECIES.loopBound(width);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector sums = DoubleVector.fromArray(SPECIES, factors, factorStart + i).mul(scale).add(base);
+            DoubleVector.fromArray(SPECIES, row, rowStart + i).max(sums).intoArray(row, rowStart + i);
+        }
+        SCALAR.maxOfScaledSums(row, rowStart + i, base, scale, factors, factorStart + i, width - i);
+    }
+
+    @Override
+    public void maxOfValue(double[] row, int rowStart, double value, int width) {
+        int bound = SPECIES.loopBound(width);
+        int i = 0;
+        DoubleVector broadcast = DoubleVector.broadcast(SPECIES, value);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, row, rowStart + i).max(broadcast).intoArray(row, rowStart + i);
+        }
+        SCALAR.maxOfValue(row, rowStart + i, value, width - i);
+    }
+
+    @Override
+    public void finishTimes(double[] readyTimes, double[] dataReady, int dataReadyStart, double[] costs,
+                            double[] out, int outStart, int width) {
+        int bound = SPECIES.loopBound(width);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            finishTimes(readyTimes, dataReady, dataReadyStart, costs, i).intoArray(out, outStart + i);
+        }
+        for (; i < width; i++) {
+            out[outStart + i] = Math.max(readyTimes[i], dataReady[dataReadyStart + i]) + costs[i];
+        }
+    }
+
+    @Override
+    public void heuristics(double[] readyTimes, double[] dataReady, int dataReadyStart, double[] costs, double rank,
+                           double[] out, int outStart, int width) {
+        int bound = SPECIES.loopBound(width);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector eft = finishTimes(readyTimes, dataReady, dataReadyStart, costs, i);
+            VectorMask<Double> zero = eft.compare(VectorOperators.EQ, 0.0);
+            eft = eft.blend(0.0001, zero);
+            DoubleVector.broadcast(SPECIES, 1.0).div(eft).mul(rank).intoArray(out, outStart + i);
+        }
+        for (; i < width; i++) {
+            double eft = Math.max(readyTimes[i], dataReady[dataReadyStart + i]) + costs[i];
+            if (eft == 0) eft = 0.0001;
+            out[outStart + i] = (1.0 / eft) * rank;
+        }
+    }
+
+    @Override
+    public void multiply(double[] row, int rowStart, double[] factors, int factorStart, int width) {
+        int bound = SPECIES.loopBound(width);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector values = DoubleVector.fromArray(SPECIES, row, rowStart + i);
+            DoubleVector.fromArray(SPECIES, factors, factorStart + i).mul(values).intoArray(row, rowStart + i);
+        }
+        for (; i < width; i++) {
+            row[rowStart + i] = factors[factorStart + i] * row[rowStart + i];
+        }
+    }
+
+    @Override
+    public void multiplySquares(double[] row, int rowStart, double[] factors, int factorStart, int width) {
+        int bound = SPECIES.loopBound(width);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector values = DoubleVector.fromArray(SPECIES, row, rowStart + i);
+            DoubleVector.fromArray(SPECIES, factors, factorStart + i).mul(values.mul(values)).intoArray(row, rowStart + i);
+        }
+        for (; i < width; i++) {
+            double value = row[rowStart + i];
+            row[rowStart + i] = factors[factorStart + i] * (value * value);
+        }
+    }
+
+    // max(readyTimes, dataReady) + costs，從第 i 個處理器開始的一個向量
+    private static DoubleVector finishTimes(double[] readyTimes, double[] dataReady, int dataReadyStart, double[] costs, int i) {
+        DoubleVector ready = DoubleVector.fromArray(SPECIES, readyTimes, i);
+        DoubleVector drt = DoubleVector.fromArray(SPECIES, dataReady, dataReadyStart + i);
+        return ready.max(drt).add(DoubleVector.fromArray(SPECIES, costs, i));
+    }
+}
@@ -1,13 +1,30 @@
 package aco;
 
+import core.CancellationToken;
 import core.DAG;
 import core.Heuristics;
+import core.LocalSearchEngine;
+import core.LocalSearchStrategy;
+import core.ProcessorCandidates;
 import core.Schedule;
+import core.SchedulingPolicy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * ACO類別：實現螞蟻群優化演算法 (Ant Colony Optimization)
@@ -24,12 +41,54 @@ public class ACO {
     private final double initial_q0;
     private final double elitistWeight;
     private final int numRankedAnts;
-    private final double[][] pheromoneMatrix;
+    // **PERFORMANCE**: 資訊素矩陣：預設為一維 (row-major) 矩陣，每一代以融合的掃描更新；
+    // 延遲蒸發模式 (LazyPheromoneMatrix) 下實際值只在候選列表更新等少數場合寫入 pheromoneBuffer
+    private PheromoneStore pheromoneMatrix;
+    private double[] pheromoneBuffer;
     private final double pheromoneSmoothingFactor;
+    // **PERFORMANCE**: α/β 的次方計算方式於建立時選定一次；τ^α 每一代寫入 pheromoneWeights
+    // (α 為 1 且非延遲蒸發時不配置，直接使用資訊素陣列)
+    private final DesirabilityEngine desirabilityEngine;
+    private double[] pheromoneWeights;
+    
+    // **PERFORMANCE**: 每次執行配置一次的工作區：每個工作執行緒一隻可重複使用的螞蟻，
+    // 每隻螞蟻一個精簡解槽位（第 i 隻螞蟻寫入 solutions[i]，排序後依 makespan 排列）
+    private Ant[] workspaces;
+    private AntSolution[] solutions;
+    
+    // **PERFORMANCE**: 可選的候選列表模式：每個任務只評估 k 個處理器，每 candidateRefreshInterval 代依資訊素更新
+    private int candidatesPerTask = 0; // 0 表示評估所有處理器
+    private int candidateRefreshInterval = DEFAULT_CANDIDATE_REFRESH_INTERVAL;
+    private ProcessorCandidates processorCandidates;
+    private static final int DEFAULT_CANDIDATE_REFRESH_INTERVAL = 10;
+    
+    // **NEW**: 任務在處理器上的放置方式（建構、評估與局部搜尋一致使用）
+    private SchedulingPolicy schedulingPolicy = SchedulingPolicy.APPEND;
+
+    // **NEW**: 可替換的局部搜尋策略（null 表示 Schedule.criticalPathLocalSearch）；
+    // 鄰域掃描在 run() 期間與螞蟻建構共用執行緒池
+    private LocalSearchStrategy localSearchStrategy;
+    private LocalSearchEngine localSearchEngine;
     
     private Schedule bestSchedule;
-    // **STABILITY**: Fixed random seed for reproducible results
-    private final Random random = new Random(42);
+    // **NEW**: 逐代執行的狀態：下一個要執行的代數，以及是否已達代數上限或收斂
+    private int generation;
+    private boolean finished;
+    // **NEW**: Anytime 模式：run(token) 期間使用的取消 token、PEFT 參考解（提前停止時的備選）與進度回呼
+    private CancellationToken cancellationToken = CancellationToken.NONE;
+    private Schedule heuristicSchedule;
+    private ProgressListener progressListener;
+    private boolean quiet; // 不輸出到標準輸出
+    // **NEW**: 每 checkpointInterval 代把完整狀態寫入 checkpointFile（null 表示不寫）
+    private Path checkpointFile;
+    private int checkpointInterval;
+    private static final int CHECKPOINT_MAGIC = 0x41434F43; // "ACOC"
+    private static final int CHECKPOINT_VERSION = 3; // 2：延遲蒸發的狀態不再包含 storedSum；3：標頭加入 ACO 參數與候選列表設定
+    // **STABILITY**: Run seed; every generation derives its own SplittableRandom stream from it,
+    // and every ant gets a split of that stream, so results do not depend on the thread count.
+    private final long seed;
+    private final int parallelism; // Number of worker threads used for ant construction
+    private static final long DEFAULT_SEED = 42;
     
     // **CONVERGENCE**: Tracking best solutions for convergence detection
     private List<Double> convergenceData;
@@ -55,12 +114,27 @@ public class ACO {
     private static final double MIN_DIVERSITY_THRESHOLD = 0.1;
 
     public ACO(int numAnts, int generations, double alpha, double beta, double evaporationRate, double q0, double elitistWeight, int numRankedAnts, double pheromoneSmoothingFactor, String dagFile) {
-        this.dag = new DAG();
-        try {
-            this.dag.loadFromFile(dagFile);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load DAG file: " + dagFile, e);
+        this(numAnts, generations, alpha, beta, evaporationRate, q0, elitistWeight, numRankedAnts, pheromoneSmoothingFactor, dagFile, DEFAULT_SEED, 1);
+    }
+
+    /**
+     * **NEW**: Creates a colony with an explicit run seed and ant-construction parallelism.
+     * @param seed The run seed. Runs with the same seed produce identical results for any parallelism.
+     * @param parallelism The number of worker threads used to construct ants (1 = sequential).
+     */
+    public ACO(int numAnts, int generations, double alpha, double beta, double evaporationRate, double q0, double elitistWeight, int numRankedAnts, double pheromoneSmoothingFactor, String dagFile, long seed, int parallelism) {
+        this(numAnts, generations, alpha, beta, evaporationRate, q0, elitistWeight, numRankedAnts, pheromoneSmoothingFactor, loadDag(dagFile), seed, parallelism);
+    }
+
+    /**
+     * **NEW**: Creates a colony over an already loaded DAG, so repeated runs on the same file share one parse.
+     * The DAG is only read (apart from its deterministic heuristic caches) and may be reused across runs.
+     */
+    public ACO(int numAnts, int generations, double alpha, double beta, double evaporationRate, double q0, double elitistWeight, int numRankedAnts, double pheromoneSmoothingFactor, DAG dag, long seed, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
         }
+        this.dag = dag;
         this.numAnts = numAnts;
         this.generations = generations;
         this.alpha = alpha;
@@ -71,27 +145,221 @@ public class ACO {
         this.elitistWeight = elitistWeight;
         this.numRankedAnts = numRankedAnts;
         this.pheromoneSmoothingFactor = pheromoneSmoothingFactor;
+        this.seed = seed;
+        this.parallelism = parallelism;
         
-        this.pheromoneMatrix = new double[dag.getTaskCount()][dag.getProcessorCount()];
+        this.pheromoneMatrix = new PheromoneMatrix(dag.getTaskCount(), dag.getProcessorCount());
+        this.desirabilityEngine = DesirabilityEngine.of(alpha, beta);
+        this.pheromoneWeights = desirabilityEngine.isPheromoneIdentity()
+                ? null : new double[dag.getTaskCount() * dag.getProcessorCount()];
         this.convergenceData = new ArrayList<>();
         
         // **PERFORMANCE**: Pre-compute and cache upward ranks once
         this.cachedUpwardRanks = Heuristics.calculateUpwardRanks(dag);
     }
 
+    /**
+     * **NEW**: Enables the candidate-list mode for platforms with many processors: ants only score
+     * each task's top-k processors (by computation cost + OCT, and by pheromone), so construction
+     * cost no longer grows with the processor count. Must be called before run()/initialize().
+     * @param candidatesPerTask k; 0 (or at least the processor count) evaluates every processor.
+     * @param refreshInterval Number of generations between refreshes of the pheromone-ranked candidates.
+     */
+    public void setProcessorCandidates(int candidatesPerTask, int refreshInterval) {
+        if (candidatesPerTask < 0) {
+            throw new IllegalArgumentException("Candidates per task must not be negative: " + candidatesPerTask);
+        }
+        if (refreshInterval < 1) {
+            throw new IllegalArgumentException("Candidate refresh interval must be at least 1: " + refreshInterval);
+        }
+        this.candidatesPerTask = candidatesPerTask;
+        this.candidateRefreshInterval = refreshInterval;
+    }
+
+    /**
+     * **NEW**: Selects how tasks are placed on processors. INSERTION lets ants, evaluation and local search
+     * fill idle gaps left between earlier tasks (via per-processor gap indexes) instead of only appending.
+     * Must be called before run()/initialize().
+     */
+    public void setSchedulingPolicy(SchedulingPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Scheduling policy must not be null");
+        }
+        this.schedulingPolicy = policy;
+    }
+
+    public SchedulingPolicy getSchedulingPolicy() {
+        return schedulingPolicy;
+    }
+
+    /**
+     * **NEW**: Replaces the critical-path local search applied to new global-best candidates, e.g.
+     * LocalSearchStrategy.vnd(). During run() the neighbourhood scans are spread over the colony's
+     * worker pool (see LocalSearchEngine); the selected moves do not depend on the thread count.
+     * @param strategy The strategy, or null for Schedule.criticalPathLocalSearch.
+     */
+    public void setLocalSearchStrategy(LocalSearchStrategy strategy) {
+        this.localSearchStrategy = strategy;
+    }
+
+    // step() 在 run() 之外呼叫時使用依序掃描的引擎
+    private LocalSearchEngine localSearchEngine() {
+        if (localSearchEngine == null) {
+            localSearchEngine = new LocalSearchEngine(1);
+        }
+        return localSearchEngine;
+    }
+
+    /**
+     * **NEW**: Switches to the lazily evaporated pheromone store: evaporation becomes a global scale factor,
+     * deposits are compensated for it and the MMAS bounds are applied on read, so each pheromone update
+     * costs O(deposits) instead of O(tasks × processors). The scale, offset and bounds are applied inside the
+     * per-generation τ^α pass, so the ants' weights cost no extra pass over the matrix.
+     * Pheromone smoothing needs the exact mean of the bounded values, which the lazy store cannot track,
+     * so lazy evaporation requires a smoothing factor of 0. Must be called before run()/initialize().
+     */
+    public void setLazyEvaporation(boolean lazy) {
+        if (lazy && pheromoneSmoothingFactor > 0) {
+            throw new IllegalArgumentException("Lazy evaporation does not support pheromone smoothing: " + pheromoneSmoothingFactor);
+        }
+        int taskCount = dag.getTaskCount();
+        int processorCount = dag.getProcessorCount();
+        if (lazy) {
+            pheromoneMatrix = new LazyPheromoneMatrix(taskCount, processorCount);
+            pheromoneBuffer = new double[taskCount * processorCount];
+            if (pheromoneWeights == null) {
+                pheromoneWeights = new double[taskCount * processorCount];
+            }
+        } else {
+            pheromoneMatrix = new PheromoneMatrix(taskCount, processorCount);
+            pheromoneBuffer = null;
+            if (desirabilityEngine.isPheromoneIdentity()) {
+                pheromoneWeights = null;
+            }
+        }
+    }
+
+    // 目前的資訊素值（一維）；延遲蒸發模式下寫入 pheromoneBuffer
+    private double[] pheromoneValues() {
+        return pheromoneMatrix.values(pheromoneBuffer);
+    }
+
+    private static DAG loadDag(String dagFile) {
+        DAG dag = new DAG();
+        try {
+            dag.loadFromFile(dagFile);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load DAG file: " + dagFile, e);
+        }
+        return dag;
+    }
+
     private void initializePheromones() {
         // 在 MMAS 中，資訊素被初始化為上限 tau_max
-        for (int i = 0; i < dag.getTaskCount(); i++) {
-            for (int j = 0; j < dag.getProcessorCount(); j++) {
-                pheromoneMatrix[i][j] = tau_max;
+        pheromoneMatrix.fill(tau_max);
+    }
+
+    public Schedule run() {
+        return run(CancellationToken.NONE);
+    }
+
+    /**
+     * **NEW**: Anytime mode with a wall-clock budget (measured from this call, including initialization).
+     * @see #run(CancellationToken)
+     */
+    public Schedule run(Duration budget) {
+        return run(CancellationToken.withTimeout(budget));
+    }
+
+    /**
+     * **NEW**: Anytime mode: runs until the generation limit, convergence or cancellation of the token,
+     * whichever comes first. The token is checked between generations, between ants and inside the
+     * local search; a generation interrupted during construction is discarded (its pheromone update is skipped).
+     * @return The best schedule found so far; when stopped early, the PEFT reference schedule if it is better.
+     */
+    public Schedule run(CancellationToken token) {
+        initialize();
+        return runFromCurrentState(token);
+    }
+
+    /**
+     * **NEW**: Resumes a run from a checkpoint written by a colony with the same DAG and parameters.
+     * The remaining generations are identical to those of the uninterrupted run.
+     */
+    public Schedule resume(Path checkpoint) throws IOException {
+        return resume(checkpoint, CancellationToken.NONE);
+    }
+
+    /**
+     * **NEW**: Resumes a run from a checkpoint in anytime mode.
+     * @see #run(CancellationToken)
+     */
+    public Schedule resume(Path checkpoint, CancellationToken token) throws IOException {
+        initialize();
+        loadCheckpoint(checkpoint);
+        return runFromCurrentState(token);
+    }
+
+    private Schedule runFromCurrentState(CancellationToken token) {
+        // **PERFORMANCE**: Worker pool for ant construction (none when running sequentially)
+        ForkJoinPool pool = (parallelism > 1) ? new ForkJoinPool(parallelism) : null;
+        cancellationToken = token;
+        localSearchEngine = (localSearchStrategy != null)
+                ? ((pool != null) ? new LocalSearchEngine(pool) : new LocalSearchEngine(1)) : null;
+        try {
+            runGenerations(pool);
+        } finally {
+            cancellationToken = CancellationToken.NONE;
+            localSearchEngine = null;
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+
+        if (!finished) {
+            // 提前停止時 ACO 可能尚未超越 PEFT 參考解：回傳兩者中較好的
+            Schedule reference = new Schedule(heuristicSchedule);
+            reference.setSchedulingPolicy(schedulingPolicy);
+            if (bestSchedule == null || reference.evaluateFitness() < bestSchedule.getMakespan()) {
+                bestSchedule = reference;
             }
+            log("  -> Stopped after %d generations (deadline reached or cancelled).\n", generation);
         }
+        log("Finished ACO run. Best Makespan: %.2f\n", bestSchedule.getMakespan());
+        return bestSchedule;
     }
 
-    public Schedule run() {
+    /**
+     * **NEW**: Called with the colony state at the end of every completed generation.
+     */
+    public void setProgressListener(ProgressListener listener) {
+        this.progressListener = listener;
+    }
+
+    /**
+     * **NEW**: Suppresses the colony's console output (initialization, per-generation and summary lines),
+     * e.g. when several colonies run concurrently and a coordinator reports their progress instead.
+     */
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
+    }
+
+    private void log(String format, Object... args) {
+        if (!quiet) {
+            System.out.printf(format, args);
+        }
+    }
+
+    /**
+     * **NEW**: Prepares the colony for a run: computes the PEFT reference schedule,
+     * derives the MMAS bounds from it and initializes the pheromone matrix.
+     * Called by run(); exposed so the colony state can be set up without running generations.
+     */
+    public void initialize() {
         // 1. 產生初始解以計算 tau_max，但不將其設為全域最佳解
         Schedule initialHeuristicSchedule = Heuristics.createPeftSchedule(dag);
-        System.out.printf("Initial Heuristic Makespan (PEFT): %.2f\n", initialHeuristicSchedule.getMakespan());
+        heuristicSchedule = initialHeuristicSchedule;
+        log("Initial Heuristic Makespan (PEFT): %.2f\n", initialHeuristicSchedule.getMakespan());
         
         // 2. 初始化 MMAS 參數
         tau_max = 1.0 / (evaporationRate * initialHeuristicSchedule.getMakespan());
@@ -99,7 +367,7 @@ public class ACO {
         double p_best = Math.pow(1.0 / dag.getTaskCount(), 1.0 / dag.getTaskCount());
         tau_min = tau_max * (1 - p_best) / ((double)(dag.getTaskCount() / 2 - 1) * p_best);
 
-        System.out.printf("MMAS Params: tau_max=%.4f, tau_min=%.4f\n", tau_max, tau_min);
+        log("MMAS Params: tau_max=%.4f, tau_min=%.4f\n", tau_max, tau_min);
 
         // **NEW**: ACO 的搜尋從 null 開始，不使用 PEFT 作為起點
         bestSchedule = null; 
@@ -107,212 +375,482 @@ public class ACO {
         // 3. 初始化資訊素矩陣
         initializePheromones();
 
-        for (int gen = 0; gen < generations; gen++) {
-            // **NEW**: Dynamic elitist weight decay
-            double currentElitistWeight = this.elitistWeight * (1.0 - (double) gen / generations);
+        // 4. 候選列表模式：依 計算成本 + OCT (PEFT 已快取) 與初始資訊素建立
+        processorCandidates = (candidatesPerTask > 0 && candidatesPerTask < dag.getProcessorCount())
+                ? ProcessorCandidates.build(dag, candidatesPerTask, pheromoneValues()) : null;
 
-            List<Ant> ants = createAnts();
-            
-            for (Ant ant : ants) {
-                ant.constructSolution(dag, pheromoneMatrix, alpha, beta, q0, cachedUpwardRanks);
-            }
+        // 5. 配置螞蟻工作區與解槽位，整個執行期間重複使用
+        workspaces = new Ant[Math.min(parallelism, numAnts)];
+        for (int w = 0; w < workspaces.length; w++) {
+            workspaces[w] = new Ant();
+            workspaces[w].setSchedulingPolicy(schedulingPolicy);
+        }
+        solutions = new AntSolution[numAnts];
+        for (int i = 0; i < numAnts; i++) {
+            solutions[i] = new AntSolution(dag.getTaskCount());
+        }
+        generation = 0;
+        finished = generations <= 0;
+    }
 
-            // --- STRATEGY CHANGE: Decouple Local Search from population generation ---
-            // Sort ants by their raw constructed solution to find the best of this iteration.
-            ants.sort(Comparator.comparingDouble(a -> a.getSchedule().getMakespan()));
-            Schedule iterationBestAntSchedule = ants.get(0).getSchedule();
-
-            // Local search is now only applied to refine a new candidate for the global best solution.
-            boolean foundNewGlobalBest = false;
-            if (bestSchedule == null || iterationBestAntSchedule.getMakespan() < bestSchedule.getMakespan()) {
-                Schedule refinedCandidate = new Schedule(iterationBestAntSchedule);
-                refinedCandidate.criticalPathLocalSearch(); // Apply powerful LS to the promising candidate
-
-                if (bestSchedule == null || refinedCandidate.getMakespan() < bestSchedule.getMakespan()) {
-                    bestSchedule = refinedCandidate; // Update global best with the refined version
-                    foundNewGlobalBest = true;
-                    System.out.printf("  -> New global best found (after LS): %.2f\n", bestSchedule.getMakespan());
+    private void runGenerations(ForkJoinPool pool) {
+        while (!finished && !cancellationToken.isCancelled()) {
+            int before = generation;
+            step(pool);
+            if (checkpointFile != null && generation != before
+                    && (generation % checkpointInterval == 0 || finished)) {
+                try {
+                    saveCheckpoint(checkpointFile);
+                } catch (IOException e) {
+                    // 檢查點寫入失敗不中斷執行，上一個完整的檢查點仍保留
+                    System.err.println("Warning: could not write checkpoint " + checkpointFile + ": " + e.getMessage());
                 }
             }
+        }
+    }
+
+    /**
+     * **NEW**: Writes a checkpoint every interval generations (and after the last one) during run()/resume().
+     * Each checkpoint replaces the previous one atomically, so a crash leaves the last complete checkpoint;
+     * a failed write is reported on stderr and the run continues.
+     * @param file The checkpoint file, or null to disable checkpointing.
+     */
+    public void setCheckpointing(Path file, int interval) {
+        if (file != null && interval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be at least 1: " + interval);
+        }
+        this.checkpointFile = file;
+        this.checkpointInterval = interval;
+    }
+
+    /**
+     * **NEW**: Writes the complete colony state to a binary file: pheromone store (including the lazy scale
+     * factors), MMAS bounds, q0, stagnation and convergence counters, best schedule, convergence data and
+     * candidate lists. The random state is the run seed and the generation number, since every generation
+     * derives its stream from them. The file is written next to the target and then moved over it.
+     */
+    public void saveCheckpoint(Path file) throws IOException {
+        if (workspaces == null) {
+            throw new IllegalStateException("Colony is not initialized; call initialize() first");
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            writeCheckpoint(temp);
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
 
-            // Update stagnation and convergence counters based on whether a new global best was found.
-            if (foundNewGlobalBest) {
-                stagnationCounter = 0;
+    private void writeCheckpoint(Path temp) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            writeCheckpointHeader(out);
+            out.writeInt(generation);
+            out.writeBoolean(finished);
+            out.writeDouble(q0);
+            out.writeDouble(tau_max);
+            out.writeDouble(tau_min);
+            out.writeInt(stagnationCounter);
+            out.writeInt(convergenceCounter);
+            out.writeDouble(lastBestMakespan);
+
+            out.writeBoolean(bestSchedule != null);
+            if (bestSchedule != null) {
+                ColonyProtocol.writeIntArray(out, bestSchedule.getChromosome());
+                ColonyProtocol.writeIntArray(out, bestSchedule.getTaskOrderArray());
+                out.writeDouble(bestSchedule.getMakespan());
+            }
 
-                // **NEW ADAPTIVE CONTROL**: Improvement found, increase exploitation pressure.
-                this.q0 = Math.min(0.98, this.q0 / 0.95); // Increase q0, but cap it to avoid pure greediness.
-                System.out.printf("  -> Global best improved. Increasing q0 to %.4f\n", this.q0);
+            out.writeInt(convergenceData.size());
+            for (double makespan : convergenceData) {
+                out.writeDouble(makespan);
+            }
 
-                // **CONVERGENCE**: Update tracking
-                if (Math.abs(bestSchedule.getMakespan() - lastBestMakespan) < CONVERGENCE_TOLERANCE) {
-                    convergenceCounter++;
-                } else {
-                    convergenceCounter = 0;
-                    lastBestMakespan = bestSchedule.getMakespan();
-                }
-                 // Reset q0 to its initial value if it was lowered
-                if (this.q0 < this.initial_q0) {
-                    this.q0 = this.initial_q0;
-                    System.out.printf("  -> Resetting q0 to %.2f\n", this.q0);
+            ColonyProtocol.writeIntArray(out, (processorCandidates != null) ? processorCandidates.getProcessorArray() : null);
+            pheromoneMatrix.writeState(out);
+        }
+    }
+
+    /**
+     * **NEW**: Restores the state written by saveCheckpoint. The colony must have been initialized and
+     * configured like the one that wrote the checkpoint (same DAG, seed, ant count, generations, alpha, beta,
+     * evaporation rate, initial q0, elitist weight, ranked ants, smoothing factor, scheduling policy,
+     * candidate-list size and refresh interval, and pheromone store); mismatches are rejected.
+     */
+    public void loadCheckpoint(Path file) throws IOException {
+        if (workspaces == null) {
+            throw new IllegalStateException("Colony is not initialized; call initialize() first");
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            readCheckpointHeader(in);
+            generation = in.readInt();
+            finished = in.readBoolean();
+            q0 = in.readDouble();
+            tau_max = in.readDouble();
+            tau_min = in.readDouble();
+            stagnationCounter = in.readInt();
+            convergenceCounter = in.readInt();
+            lastBestMakespan = in.readDouble();
+
+            bestSchedule = null;
+            if (in.readBoolean()) {
+                int[] assignment = ColonyProtocol.readIntArray(in);
+                int[] taskOrder = ColonyProtocol.readIntArray(in);
+                double makespan = in.readDouble();
+                Schedule best = (taskOrder != null) ? new Schedule(dag, assignment, taskOrder) : new Schedule(dag, assignment);
+                best.setSchedulingPolicy(schedulingPolicy);
+                if (best.evaluateFitness() != makespan) {
+                    throw new IOException("Checkpoint best schedule does not re-evaluate to its makespan " + makespan);
                 }
+                bestSchedule = best;
+            }
+
+            int convergenceCount = in.readInt();
+            convergenceData.clear();
+            for (int i = 0; i < convergenceCount; i++) {
+                convergenceData.add(in.readDouble());
+            }
+
+            int[] candidates = ColonyProtocol.readIntArray(in);
+            if ((candidates != null) != (processorCandidates != null)) {
+                throw new IOException("Checkpoint candidate-list mode does not match the colony");
+            }
+            if (candidates != null) {
+                processorCandidates.restore(candidates);
+            }
+            pheromoneMatrix.readState(in);
+        }
+    }
+
+    private void writeCheckpointHeader(DataOutputStream out) throws IOException {
+        out.writeInt(CHECKPOINT_MAGIC);
+        out.writeInt(CHECKPOINT_VERSION);
+        out.writeInt(dag.getTaskCount());
+        out.writeInt(dag.getProcessorCount());
+        out.writeLong(seed);
+        out.writeInt(numAnts);
+        out.writeInt(generations);
+        out.writeUTF(schedulingPolicy.name());
+        out.writeBoolean(pheromoneMatrix instanceof LazyPheromoneMatrix);
+        out.writeDouble(alpha);
+        out.writeDouble(beta);
+        out.writeDouble(evaporationRate);
+        out.writeDouble(initial_q0);
+        out.writeDouble(elitistWeight);
+        out.writeInt(numRankedAnts);
+        out.writeDouble(pheromoneSmoothingFactor);
+        out.writeInt(candidatesPerTask);
+        out.writeInt(candidateRefreshInterval);
+    }
+
+    private void readCheckpointHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != CHECKPOINT_MAGIC) {
+            throw new IOException("Not an ACO checkpoint file");
+        }
+        int version = in.readInt();
+        if (version != CHECKPOINT_VERSION) {
+            throw new IOException("Unsupported checkpoint version: " + version);
+        }
+        if (in.readInt() != dag.getTaskCount() || in.readInt() != dag.getProcessorCount()
+                || in.readLong() != seed || in.readInt() != numAnts || in.readInt() != generations
+                || !in.readUTF().equals(schedulingPolicy.name())
+                || in.readBoolean() != (pheromoneMatrix instanceof LazyPheromoneMatrix)) {
+            throw new IOException("Checkpoint does not match the colony configuration");
+        }
+        // 參數必須逐位元相同，否則接續的執行不屬於任何一組設定
+        if (!sameParameter(in.readDouble(), alpha) || !sameParameter(in.readDouble(), beta)
+                || !sameParameter(in.readDouble(), evaporationRate) || !sameParameter(in.readDouble(), initial_q0)
+                || !sameParameter(in.readDouble(), elitistWeight) || in.readInt() != numRankedAnts
+                || !sameParameter(in.readDouble(), pheromoneSmoothingFactor)
+                || in.readInt() != candidatesPerTask || in.readInt() != candidateRefreshInterval) {
+            throw new IOException("Checkpoint ACO parameters do not match the colony");
+        }
+    }
+
+    private static boolean sameParameter(double stored, double current) {
+        return Double.doubleToLongBits(stored) == Double.doubleToLongBits(current);
+    }
+
+    /**
+     * **NEW**: Runs the next generation, constructing the ants on the calling thread.
+     * Lets a driver (e.g. IslandModel) advance several colonies generation by generation and exchange
+     * solutions in between; the colony must have been set up with initialize().
+     * @return true if the colony has more generations to run (not at the generation limit and not converged)
+     */
+    public boolean step() {
+        if (workspaces == null) {
+            throw new IllegalStateException("Colony is not initialized; call initialize() first");
+        }
+        if (finished) {
+            throw new IllegalStateException("Colony has already finished after " + generation + " generations");
+        }
+        step(null);
+        return !finished;
+    }
+
+    /**
+     * **NEW**: True once the colony reached its generation limit or converged.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * **NEW**: Number of generations run since initialize().
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    private void step(ForkJoinPool pool) {
+        int gen = generation;
+        // **NEW**: Dynamic elitist weight decay
+        double currentElitistWeight = this.elitistWeight * (1.0 - (double) gen / generations);
+
+        SplittableRandom generationRandom = generationRandom(gen);
+        constructSolutions(generationRandom, pool);
+        if (cancellationToken.isCancelled()) {
+            return; // 未完成的一代：不更新資訊素與計數
+        }
+
+        // --- STRATEGY CHANGE: Decouple Local Search from population generation ---
+        // Sort ants by their raw constructed solution to find the best of this iteration.
+        Arrays.sort(solutions, Comparator.comparingDouble(AntSolution::getMakespan));
+        AntSolution iterationBestSolution = solutions[0];
+
+        // Local search is now only applied to refine a new candidate for the global best solution.
+        boolean foundNewGlobalBest = false;
+        if (bestSchedule == null || iterationBestSolution.getMakespan() < bestSchedule.getMakespan()) {
+            // **PERFORMANCE**: Only the candidate is materialized as a Schedule
+            Schedule refinedCandidate = iterationBestSolution.toSchedule(dag, schedulingPolicy);
+            refinedCandidate.evaluateFitness();
+            if (localSearchStrategy != null) {
+                localSearchEngine().improve(refinedCandidate, localSearchStrategy, cancellationToken);
             } else {
-                stagnationCounter++;
-                // Check if we are stuck near the same solution
-                if (bestSchedule != null && Math.abs(iterationBestAntSchedule.getMakespan() - bestSchedule.getMakespan()) < CONVERGENCE_TOLERANCE) {
-                    convergenceCounter++;
-                } else {
-                    convergenceCounter = 0;
-                }
+                refinedCandidate.criticalPathLocalSearch(cancellationToken); // Apply powerful LS to the promising candidate
             }
-            
-            // 4. 更新資訊素 (based on the original ant solutions)
-            updatePheromones(ants, bestSchedule, currentElitistWeight);
 
-            // 5. **ENHANCED**: Advanced stagnation and diversity handling
-            Schedule mutatedSolution = handleAdvancedStagnation(ants);
-            
-            // **NEW**: If stagnation produced a mutated solution, inject it into the next generation
-            if (mutatedSolution != null) {
-                // Replace the worst ant's schedule with the mutated one
-                ants.get(ants.size() - 1).setSchedule(mutatedSolution);
+            if (bestSchedule == null || refinedCandidate.getMakespan() < bestSchedule.getMakespan()) {
+                bestSchedule = refinedCandidate; // Update global best with the refined version
+                foundNewGlobalBest = true;
+                log("  -> New global best found (after LS): %.2f\n", bestSchedule.getMakespan());
             }
+        }
 
-            // Record data for convergence curve
-            convergenceData.add(bestSchedule.getMakespan());
+        // Update stagnation and convergence counters based on whether a new global best was found.
+        if (foundNewGlobalBest) {
+            stagnationCounter = 0;
 
-            System.out.printf("Generation %d: Iteration Best (Ant)=%.2f, Global Best=%.2f, Stagnation=%d, Convergence=%d\n",
-                    gen + 1, iterationBestAntSchedule.getMakespan(), bestSchedule.getMakespan(), 
-                    stagnationCounter, convergenceCounter);
+            // **NEW ADAPTIVE CONTROL**: Improvement found, increase exploitation pressure.
+            this.q0 = Math.min(0.98, this.q0 / 0.95); // Increase q0, but cap it to avoid pure greediness.
+            log("  -> Global best improved. Increasing q0 to %.4f\n", this.q0);
 
-            // **CONVERGENCE**: Early stopping if converged
-            if (convergenceCounter >= CONVERGENCE_THRESHOLD) {
-                System.out.printf("  -> Algorithm converged after %d generations! Stopping early.\n", gen + 1);
-                break;
+            // **CONVERGENCE**: Update tracking
+            if (Math.abs(bestSchedule.getMakespan() - lastBestMakespan) < CONVERGENCE_TOLERANCE) {
+                convergenceCounter++;
+            } else {
+                convergenceCounter = 0;
+                lastBestMakespan = bestSchedule.getMakespan();
+            }
+             // Reset q0 to its initial value if it was lowered
+            if (this.q0 < this.initial_q0) {
+                this.q0 = this.initial_q0;
+                log("  -> Resetting q0 to %.2f\n", this.q0);
+            }
+        } else {
+            stagnationCounter++;
+            // Check if we are stuck near the same solution
+            if (bestSchedule != null && Math.abs(iterationBestSolution.getMakespan() - bestSchedule.getMakespan()) < CONVERGENCE_TOLERANCE) {
+                convergenceCounter++;
+            } else {
+                convergenceCounter = 0;
             }
         }
         
-        System.out.printf("Finished ACO run. Best Makespan: %.2f\n", bestSchedule.getMakespan());
-        return bestSchedule;
+        // 4. 更新資訊素 (based on the original ant solutions)
+        updatePheromones(solutions, bestSchedule, currentElitistWeight);
+
+        // 5. **ENHANCED**: Advanced stagnation and diversity handling
+        Schedule mutatedSolution = handleAdvancedStagnation(solutions, generationRandom);
+        
+        // **NEW**: If stagnation produced a mutated solution, inject it into the next generation
+        if (mutatedSolution != null) {
+            // Replace the worst ant's solution with the mutated one
+            solutions[solutions.length - 1].copyFrom(mutatedSolution);
+        }
+
+        // **PERFORMANCE**: Periodically re-rank the pheromone part of the candidate lists
+        if (processorCandidates != null && (gen + 1) % candidateRefreshInterval == 0) {
+            processorCandidates.refresh(pheromoneValues());
+        }
+
+        // Record data for convergence curve
+        convergenceData.add(bestSchedule.getMakespan());
+
+        log("Generation %d: Iteration Best (Ant)=%.2f, Global Best=%.2f, Stagnation=%d, Convergence=%d\n",
+                gen + 1, iterationBestSolution.getMakespan(), bestSchedule.getMakespan(), 
+                stagnationCounter, convergenceCounter);
+
+        generation = gen + 1;
+        finished = generation >= generations;
+        if (progressListener != null) {
+            progressListener.onGeneration(generation, iterationBestSolution.getMakespan(), bestSchedule);
+        }
+
+        // **CONVERGENCE**: Early stopping if converged
+        if (convergenceCounter >= CONVERGENCE_THRESHOLD) {
+            log("  -> Algorithm converged after %d generations! Stopping early.\n", gen + 1);
+            finished = true;
+        }
     }
 
-    private List<Ant> createAnts() {
-        List<Ant> ants = new ArrayList<>();
+    /**
+     * **NEW**: Offers a schedule found by another colony on the same DAG (island-model migration).
+     * The migrant is re-evaluated under this colony's scheduling policy and adopted only if it beats the
+     * colony's best; it then reinforces the pheromones as the elitist solution from the next generation on,
+     * and the stagnation counter restarts since the colony has a new region to exploit.
+     * @return true if the migrant became the colony's best schedule
+     */
+    public boolean acceptMigrant(Schedule migrant) {
+        Schedule candidate = new Schedule(migrant);
+        candidate.setSchedulingPolicy(schedulingPolicy);
+        candidate.evaluateFitness();
+        if (bestSchedule != null && candidate.getMakespan() >= bestSchedule.getMakespan()) {
+            return false;
+        }
+        bestSchedule = candidate;
+        stagnationCounter = 0;
+        return true;
+    }
+
+    /**
+     * **NEW**: Derives the random stream of a generation from the run seed alone,
+     * so the stream of any generation is independent of how earlier ones were executed.
+     */
+    private SplittableRandom generationRandom(int gen) {
+        long z = seed + (gen + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return new SplittableRandom(z ^ (z >>> 33));
+    }
+
+    /**
+     * **PERFORMANCE**: Constructs and evaluates all ant solutions into the pooled slots,
+     * in parallel when a pool is given. Each worker reuses its own ant workspace.
+     */
+    private void constructSolutions(SplittableRandom generationRandom, ForkJoinPool pool) {
+        // Splits are taken in ant order on the calling thread: ant i always gets the same stream
+        SplittableRandom[] antRandoms = new SplittableRandom[numAnts];
         for (int i = 0; i < numAnts; i++) {
-            ants.add(new Ant());
+            antRandoms[i] = generationRandom.split();
+        }
+        // **PERFORMANCE**: τ^α 每一代只計算一次，所有螞蟻共用
+        double[] weights = pheromoneMatrix.weightedValues(desirabilityEngine, pheromoneWeights);
+        double currentQ0 = this.q0;
+        if (pool == null) {
+            constructSolutions(workspaces[0], 0, 1, weights, currentQ0, antRandoms);
+            return;
+        }
+        int workerCount = workspaces.length;
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(workerCount);
+        for (int w = 0; w < workerCount; w++) {
+            Ant workspace = workspaces[w];
+            int firstAnt = w;
+            tasks.add(pool.submit(() -> constructSolutions(workspace, firstAnt, workerCount, weights, currentQ0, antRandoms)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
+    // 工作區依序建構 firstAnt, firstAnt + stride, ... 號螞蟻的解
+    private void constructSolutions(Ant workspace, int firstAnt, int stride, double[] weights, double currentQ0,
+                                    SplittableRandom[] antRandoms) {
+        for (int i = firstAnt; i < numAnts; i += stride) {
+            if (cancellationToken.isCancelled()) {
+                return;
+            }
+            workspace.constructSolution(dag, weights, desirabilityEngine, currentQ0, cachedUpwardRanks, processorCandidates,
+                                        antRandoms[i], solutions[i]);
+            solutions[i].evaluate(dag, schedulingPolicy);
         }
-        return ants;
     }
 
     /**
      * **REVISED**: Implements Rank-Based pheromone update.
-     * @param sortedAnts The list of ants from the current generation, sorted by makespan.
+     * **PERFORMANCE**: Evaporation, deposits, clamping and the smoothing sum are fused into one sweep
+     * over the flat matrix (see PheromoneMatrix.update); smoothing is the second and last sweep.
+     * With lazy evaporation only the deposited cells are touched (see LazyPheromoneMatrix.update).
+     * Public so that it can be driven directly by the benchmark suite; requires initialize().
+     * @param sortedSolutions The solutions of the current generation, sorted by makespan.
      * @param globalBest The best solution found so far over all generations.
      * @param currentElitistWeight The dynamic weight for the elitist ant.
      */
-    private void updatePheromones(List<Ant> sortedAnts, Schedule globalBest, double currentElitistWeight) {
-        int taskCount = dag.getTaskCount();
-        int processorCount = dag.getProcessorCount();
-        
-        // 1. 資訊素蒸發 - **PERFORMANCE**: Optimized loop structure
-        double evapFactor = 1.0 - evaporationRate;
-        for (int i = 0; i < taskCount; i++) {
-            double[] pheromoneRow = pheromoneMatrix[i]; // **PERFORMANCE**: Cache row reference
-            for (int j = 0; j < processorCount; j++) {
-                pheromoneRow[j] *= evapFactor;
-            }
-        }
+    public void updatePheromones(AntSolution[] sortedSolutions, Schedule globalBest, double currentElitistWeight) {
+        // 存放的來源依序為排名前 numRankedAnts 的解，最後是全域最佳解
+        int[][] depositAssignments = new int[this.numRankedAnts + 1][];
+        double[] depositContributions = new double[this.numRankedAnts + 1];
+        int depositCount = 0;
 
         // 2. **NEW**: Rank-based update from the top ants
         for (int k = 0; k < this.numRankedAnts; k++) {
-            if (k >= sortedAnts.size()) break;
+            if (k >= sortedSolutions.length) break;
             
-            Schedule s = sortedAnts.get(k).getSchedule();
+            AntSolution s = sortedSolutions[k];
             // **ENHANCED**: Improved weight distribution for ASrank
-            double contribution = (this.numRankedAnts - k + 1.0) * (1.0 / s.getMakespan());
-            
-            for (int taskId = 0; taskId < taskCount; taskId++) {
-                int processorId = s.getProcessorForTask(taskId);
-                if (processorId != -1) {
-                    pheromoneMatrix[taskId][processorId] += contribution;
-                }
-            }
+            depositAssignments[depositCount] = s.getAssignment();
+            depositContributions[depositCount++] = (this.numRankedAnts - k + 1.0) * (1.0 / s.getMakespan());
         }
         
         // 3. 全域最佳解 (精英螞蟻) 貢獻資訊素
         if (globalBest != null) {
-            double contribution = currentElitistWeight * (1.0 / globalBest.getMakespan());
-            for (int taskId = 0; taskId < taskCount; taskId++) {
-                int processorId = globalBest.getProcessorForTask(taskId);
-                if (processorId != -1) {
-                    pheromoneMatrix[taskId][processorId] += contribution;
-                }
-            }
+            depositAssignments[depositCount] = globalBest.getChromosome();
+            depositContributions[depositCount++] = currentElitistWeight * (1.0 / globalBest.getMakespan());
         }
         
-        // 4. 強制執行資訊素上下限 - **PERFORMANCE**: Optimized bounds checking
-        for (int i = 0; i < taskCount; i++) {
-            double[] pheromoneRow = pheromoneMatrix[i]; // **PERFORMANCE**: Cache row reference
-            for (int j = 0; j < processorCount; j++) {
-                if (pheromoneRow[j] > tau_max) {
-                    pheromoneRow[j] = tau_max;
-                } else if (pheromoneRow[j] < tau_min) {
-                    pheromoneRow[j] = tau_min;
-                }
-            }
-        }
-
-        // 5. **NEW**: Pheromone Smoothing to proactively encourage exploration
-        if (pheromoneSmoothingFactor > 0) {
-            double totalPheromone = 0;
-            for (int i = 0; i < taskCount; i++) {
-                for (int j = 0; j < processorCount; j++) {
-                    totalPheromone += pheromoneMatrix[i][j];
-                }
-            }
-            double avgPheromone = totalPheromone / (taskCount * processorCount);
-            
-            for (int i = 0; i < taskCount; i++) {
-                for (int j = 0; j < processorCount; j++) {
-                    pheromoneMatrix[i][j] = (1.0 - pheromoneSmoothingFactor) * pheromoneMatrix[i][j] + pheromoneSmoothingFactor * avgPheromone;
-                }
-            }
-        }
+        // 1. 資訊素蒸發、2./3. 存放、4. 上下限與 5. 平滑化 (**NEW**: proactively encourages exploration)
+        pheromoneMatrix.update(1.0 - evaporationRate, depositAssignments, depositContributions, depositCount,
+                               tau_min, tau_max, pheromoneSmoothingFactor);
     }
 
     /**
      * **NEW**: Advanced stagnation handling with diversity protection. Returns a mutated solution if hard stagnation is triggered.
      */
-    private Schedule handleAdvancedStagnation(List<Ant> ants) {
+    private Schedule handleAdvancedStagnation(AntSolution[] ants, SplittableRandom generationRandom) {
         if (stagnationCounter >= SOFT_STAGNATION_LIMIT) {
-            System.out.printf("  -> Soft stagnation detected (%d generations). Diversifying...\n", stagnationCounter);
+            log("  -> Soft stagnation detected (%d generations). Diversifying...\n", stagnationCounter);
             
             // Lower q0 to encourage exploration
             this.q0 = Math.max(0.1, this.q0 * 0.9);
-            System.out.printf("  -> Reduced q0 to %.4f\n", this.q0);
+            log("  -> Reduced q0 to %.4f\n", this.q0);
 
             // Check population diversity
             double diversity = calculatePopulationDiversity(ants);
-            System.out.printf("  -> Population diversity: %.4f\n", diversity);
+            log("  -> Population diversity: %.4f\n", diversity);
 
             if (diversity < MIN_DIVERSITY_THRESHOLD) {
-                System.out.println("  -> Diversity below threshold. Forcing diversification.");
-                forceDiversification();
+                log("  -> Diversity below threshold. Forcing diversification.\n");
+                forceDiversification(generationRandom);
             }
         }
         
         if (stagnationCounter >= HARD_STAGNATION_LIMIT) {
-            System.out.printf("  -> Hard stagnation detected (%d generations). Resetting pheromones and mutating...\n", stagnationCounter);
+            log("  -> Hard stagnation detected (%d generations). Resetting pheromones and mutating...\n", stagnationCounter);
             
             // **NEW**: Mutate the global best schedule to inject new genetic material
             Schedule mutatedBest = new Schedule(bestSchedule);
-            mutatedBest.mutate(MUTATION_RATE_ON_STAGNATION, random);
+            mutatedBest.mutate(MUTATION_RATE_ON_STAGNATION, generationRandom);
             mutatedBest.evaluateFitness(); // Re-evaluate makespan after mutation
-            System.out.printf("  -> Mutated best solution from %.2f to %.2f\n", bestSchedule.getMakespan(), mutatedBest.getMakespan());
+            log("  -> Mutated best solution from %.2f to %.2f\n", bestSchedule.getMakespan(), mutatedBest.getMakespan());
 
             // Also reset q0 to its initial value to start fresh
             if (this.q0 < this.initial_q0) {
                 this.q0 = this.initial_q0;
-                System.out.printf("  -> Resetting q0 to %.2f\n", this.q0);
+                log("  -> Resetting q0 to %.2f\n", this.q0);
             }
             stagnationCounter = 0; // Reset counter completely after action
             convergenceCounter = 0; // Reset convergence counter too
@@ -324,38 +862,77 @@ public class ACO {
     /**
      * **NEW**: Calculate population diversity based on makespan variance.
      */
-    private double calculatePopulationDiversity(List<Ant> ants) {
-        if (ants == null || ants.isEmpty()) return 0.0;
+    private double calculatePopulationDiversity(AntSolution[] ants) {
+        if (ants == null || ants.length == 0) return 0.0;
 
         // **NEW**: A simple diversity metric based on the number of unique schedules.
         // A more complex one could analyze structural differences.
-        long uniqueSchedules = ants.stream()
-                                   .map(Ant::getSchedule)
-                                   .distinct()
-                                   .count();
+        long uniqueSchedules = Arrays.stream(ants)
+                                     .distinct()
+                                     .count();
         
-        return (double) uniqueSchedules / ants.size();
+        return (double) uniqueSchedules / ants.length;
     }
 
     /**
      * **NEW**: Force diversification by partially randomizing pheromone matrix.
      */
-    private void forceDiversification() {
+    private void forceDiversification(SplittableRandom diversityRandom) {
         int taskCount = dag.getTaskCount();
         int processorCount = dag.getProcessorCount();
         
-        // **STABILITY**: Use controlled randomization
-        Random diversityRandom = new Random(System.currentTimeMillis() % 1000);
+        // **STABILITY**: Randomization comes from the generation's stream, keeping runs reproducible
         
         // Partially randomize 30% of pheromone values
         for (int i = 0; i < taskCount; i++) {
             for (int j = 0; j < processorCount; j++) {
                 if (diversityRandom.nextDouble() < 0.3) {
                     // Set to random value between tau_min and tau_max
-                    pheromoneMatrix[i][j] = tau_min + diversityRandom.nextDouble() * (tau_max - tau_min);
+                    pheromoneMatrix.set(i, j, tau_min + diversityRandom.nextDouble() * (tau_max - tau_min));
+                }
+            }
+        }
+    }
+
+    /**
+     * **NEW**: Compact pheromone summary exchanged between distributed colonies:
+     * for each task the processor with the highest pheromone (ties keep the lowest processor id).
+     */
+    public int[] getPheromoneSummary() {
+        int taskCount = dag.getTaskCount();
+        int processorCount = dag.getProcessorCount();
+        double[] values = pheromoneValues();
+        int[] summary = new int[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            int rowStart = i * processorCount;
+            int best = 0;
+            for (int j = 1; j < processorCount; j++) {
+                if (values[rowStart + j] > values[rowStart + best]) {
+                    best = j;
                 }
             }
+            summary[i] = best;
         }
+        return summary;
+    }
+
+    /**
+     * **NEW**: Pulls the pheromone trail toward a summary received from other colonies:
+     * for each task the summary's processor moves by weight toward tau_max (-1 leaves the task unchanged).
+     */
+    public void blendPheromoneSummary(int[] processors, double weight) {
+        for (int i = 0; i < processors.length; i++) {
+            int processorId = processors[i];
+            if (processorId == -1) {
+                continue;
+            }
+            double value = pheromoneMatrix.get(i, processorId);
+            pheromoneMatrix.set(i, processorId, value + weight * (tau_max - value));
+        }
+    }
+
+    public DAG getDag() {
+        return dag;
     }
 
     public Schedule getBestSchedule() {
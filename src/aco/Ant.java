@@ -1,8 +1,14 @@
 package aco;
 
+import core.CommunicationCostTable;
+import core.CsrGraph;
 import core.DAG;
-import core.Processor;
+import core.ProcessorCandidates;
+import core.ProcessorTimeline;
+import core.RowKernel;
+import core.RowKernels;
 import core.Schedule;
+import core.SchedulingPolicy;
 import java.util.*;
 
 /**
@@ -11,35 +17,56 @@ import java.util.*;
  */
 public class Ant {
     private Schedule schedule;
-    private final Random random = new Random();
+    private final SplittableRandom random;
     private double[] upwardRanks; // **NEW**: Cache upward ranks for efficiency
     
-    // **PERFORMANCE**: Object pool for candidates to reduce allocation overhead
-    private final List<Candidate> candidatePool = new ArrayList<>();
-    private int poolIndex = 0;
-
-    // 用於儲存候選的 (任務, 處理器) 組合
-    private static class Candidate {
-        int taskId;
-        int processorId;
-        double desirability;
+    // **PERFORMANCE**: Preallocated struct-of-arrays candidate buffers (row entry, cumulative desirability)
+    private int[] candidateEntries = new int[0];
+    private double[] candidatePrefixSums = new double[0];
+    private int selectedTask;
+    private int selectedProcessor;
+    private int selectedEntry;
+    
+    // **PERFORMANCE**: Indexed ready set (O(1) add / swap-remove), reused across constructions
+    private final ReadySet readyTasks = new ReadySet(0);
+    
+    // **PERFORMANCE**: 與 ReadySet 槽位對齊的列 (每列 rowWidth 個處理器：全部處理器，或任務的候選處理器)：
+    // 數據就緒時間（任務變為可執行後即固定）與目前的吸引力
+    private double[] rowDataReady = new double[0];
+    private double[] rowDesirability = new double[0];
+    private double[] processorReadyTimes = new double[0];
+    private final RowKernel kernel = RowKernels.current(); // **PERFORMANCE**: 純量或 SIMD，啟動時選定
+    
+    // **NEW**: 放置方式；INSERTION 時以每個處理器的閒置時段索引計算 EST
+    private SchedulingPolicy schedulingPolicy = SchedulingPolicy.APPEND;
+    private ProcessorTimeline[] timelines = new ProcessorTimeline[0];
+    private boolean insertion;
+    
+    // 建構過程中的狀態（只在 constructSolution 期間有效）
+    private DAG dag;
+    private double[] pheromoneWeights; // τ^α，pheromoneWeights[task * processorCount + processor]
+    private int processorCount;
+    private DesirabilityEngine desirabilityEngine;
+    private int rowWidth;
+    private int[] candidateProcessors; // null 表示評估所有處理器
+    private int[] processorAssignments;
+    
+    // **PERFORMANCE**: 每次建構重複使用的任務暫存陣列
+    private double[] taskFinishTimes = new double[0];
+    private int[] inDegree = new int[0];
 
-        Candidate(int t, int p, double d) {
-            this.taskId = t;
-            this.processorId = p;
-            this.desirability = d;
-        }
-        
-        // **PERFORMANCE**: Method to reuse existing candidate objects
-        void set(int t, int p, double d) {
-            this.taskId = t;
-            this.processorId = p;
-            this.desirability = d;
-        }
+    public Ant() {
+        this(new SplittableRandom());
     }
 
-    public Ant() {
+    /**
+     * **NEW**: Creates an ant driven by its own random stream, so that solutions are
+     * reproducible no matter which thread constructs them.
+     * @param random The ant's private random stream (not shared with other ants).
+     */
+    public Ant(SplittableRandom random) {
         // Schedule will be built during constructSolution
+        this.random = random;
     }
 
     /**
@@ -48,166 +75,360 @@ public class Ant {
      * **PERFORMANCE**: Now accepts pre-computed upward ranks to avoid redundant calculations.
      */
     public void constructSolution(DAG dag, double[][] pheromoneMatrix, double alpha, double beta, double q0, double[] precomputedUpwardRanks) {
-        // **PERFORMANCE**: Use pre-computed upward ranks instead of calculating them
-        this.upwardRanks = precomputedUpwardRanks;
-        
+        DesirabilityEngine engine = DesirabilityEngine.of(alpha, beta);
+        double[] pheromones = PheromoneMatrix.copyOf(pheromoneMatrix).getValues();
+        constructSolution(dag, engine.weightPheromones(pheromones, null), engine, q0, precomputedUpwardRanks);
+    }
+
+    /**
+     * **PERFORMANCE**: 以預先算好的資訊素權重 τ^α 建構解（由 ACO 每一代計算一次，所有螞蟻共用）
+     * @param pheromoneWeights engine.weightPheromones(...) 的結果（一維，task * P + processor）
+     * @param engine 決定 η^β 計算方式的吸引力引擎
+     */
+    public void constructSolution(DAG dag, double[] pheromoneWeights, DesirabilityEngine engine, double q0, double[] precomputedUpwardRanks) {
+        AntSolution solution = new AntSolution(dag.getTaskCount());
+        constructSolution(dag, pheromoneWeights, engine, q0, precomputedUpwardRanks, null, random, solution);
+        this.schedule = solution.toSchedule(dag);
+    }
+
+    /**
+     * **PERFORMANCE**: 把此螞蟻當作可重複使用的工作區：以給定的亂數流建構解，只把分配與順序寫入 target，
+     * 不建立 Schedule（getSchedule() 不受影響）。所有暫存陣列在多次建構之間重複使用，每次只需 O(V) 重設。
+     * 每個可執行任務的數據就緒時間在任務變為可執行時計算一次（其前驅已全部排定，之後不再改變），
+     * 每一步只重新計算被選中處理器那一欄的吸引力，以及新變為可執行任務的整列。
+     * @param candidates 每個任務的候選處理器 (只評估這些處理器)；為 null 時評估所有處理器
+     * @param random 這一次建構使用的亂數流
+     * @param target 存放結果的解（任務數必須與 DAG 相同），makespan 需另外以 evaluate 計算
+     */
+    public void constructSolution(DAG dag, double[] pheromoneWeights, DesirabilityEngine engine, double q0,
+                                  double[] precomputedUpwardRanks, ProcessorCandidates candidates,
+                                  SplittableRandom random, AntSolution target) {
         int taskCount = dag.getTaskCount();
         int processorCount = dag.getProcessorCount();
+        if (target.getTaskCount() != taskCount) {
+            throw new IllegalArgumentException("Solution holds " + target.getTaskCount() + " tasks, DAG has " + taskCount);
+        }
+        // **PERFORMANCE**: Use pre-computed upward ranks instead of calculating them
+        this.upwardRanks = precomputedUpwardRanks;
+        this.dag = dag;
+        this.pheromoneWeights = pheromoneWeights;
+        this.processorCount = processorCount;
+        this.desirabilityEngine = engine;
+        boolean useCandidates = candidates != null && !candidates.coversAllProcessors();
+        this.candidateProcessors = useCandidates ? candidates.getProcessorArray() : null;
+        this.rowWidth = useCandidates ? candidates.getSize() : processorCount;
 
-        // 用於追蹤調度建構過程的狀態
-        int[] processorAssignments = new int[taskCount];
+        // 用於追蹤調度建構過程的狀態（分配與順序直接寫入 target）
+        int[] processorAssignments = target.getAssignment();
         Arrays.fill(processorAssignments, -1);
-        List<Integer> constructedTaskOrder = new ArrayList<>();
-        double[] taskFinishTimes = new double[taskCount];
-        Processor[] processors = new Processor[processorCount];
-        for (int i = 0; i < processorCount; i++) {
-            processors[i] = new Processor(i);
+        int[] constructedTaskOrder = target.getTaskOrderArray();
+        int scheduledCount = 0;
+        if (taskFinishTimes.length < taskCount) {
+            taskFinishTimes = new double[taskCount];
+            inDegree = new int[taskCount];
+        }
+        double[] taskFinishTimes = this.taskFinishTimes;
+        int[] inDegree = this.inDegree;
+        this.processorAssignments = processorAssignments;
+        if (processorReadyTimes.length < processorCount) {
+            processorReadyTimes = new double[processorCount];
+        }
+        Arrays.fill(processorReadyTimes, 0, processorCount, 0.0);
+        this.insertion = (schedulingPolicy == SchedulingPolicy.INSERTION);
+        if (insertion) {
+            ensureTimelines(processorCount);
         }
 
-        List<Integer> readyTasks = new ArrayList<>();
-        int[] inDegree = new int[taskCount];
+        CsrGraph graph = dag.getGraph();
+        int[] succOffsets = graph.getSuccessorOffsets();
+        int[] succTargets = graph.getSuccessorTargets();
+
+        readyTasks.reset(taskCount);
         for (int i = 0; i < taskCount; i++) {
-            inDegree[i] = dag.getTask(i).getPredecessors().size();
+            inDegree[i] = graph.getInDegree(i);
             if (inDegree[i] == 0) {
-                readyTasks.add(i);
+                addReadyTask(i);
             }
         }
 
-        while (constructedTaskOrder.size() < taskCount) {
-            if (readyTasks.isEmpty() && constructedTaskOrder.size() < taskCount) {
+        while (scheduledCount < taskCount) {
+            if (readyTasks.isEmpty()) {
                 throw new RuntimeException("Error: No ready tasks but not all tasks are scheduled.");
             }
 
             // *** 核心步驟: 從所有可能的 (任務, 處理器) 組合中選擇最佳的一個 ***
-            Candidate bestCandidate = selectNextMove(readyTasks, dag, pheromoneMatrix, alpha, beta, processors, processorAssignments, taskFinishTimes, q0);
-            int currentTaskId = bestCandidate.taskId;
-            int bestProcessorId = bestCandidate.processorId;
+            selectNextMove(q0, random);
+            int currentTaskId = selectedTask;
+            int bestProcessorId = selectedProcessor;
 
-            readyTasks.remove(Integer.valueOf(currentTaskId));
+            double cost = dag.getComputationCost(currentTaskId, bestProcessorId);
+            double est = earliestStart(bestProcessorId, rowDataReady[selectedEntry], cost);
+            removeReadyTask(currentTaskId);
 
             // 分配任務並更新狀態
             processorAssignments[currentTaskId] = bestProcessorId;
-            constructedTaskOrder.add(currentTaskId);
-            double est = calculateEST(currentTaskId, bestProcessorId, dag, processors, processorAssignments, taskFinishTimes);
-            double finishTime = est + dag.getComputationCost(currentTaskId, bestProcessorId);
+            constructedTaskOrder[scheduledCount++] = currentTaskId;
+            double finishTime = est + cost;
             taskFinishTimes[currentTaskId] = finishTime;
-            processors[bestProcessorId].setReadyTime(finishTime);
+            if (insertion) {
+                timelines[bestProcessorId].occupy(est, cost, currentTaskId);
+            } else {
+                processorReadyTimes[bestProcessorId] = finishTime;
+            }
+            refreshProcessorColumn(bestProcessorId);
 
             // 更新可執行任務列表
-            for (int successorId : dag.getTask(currentTaskId).getSuccessors()) {
+            for (int e = succOffsets[currentTaskId], end = succOffsets[currentTaskId + 1]; e < end; e++) {
+                int successorId = succTargets[e];
                 inDegree[successorId]--;
                 if (inDegree[successorId] == 0) {
-                    readyTasks.add(successorId);
+                    addReadyTask(successorId);
                 }
             }
         }
 
-        this.schedule = new Schedule(dag, processorAssignments, constructedTaskOrder);
+        this.dag = null;
+        this.pheromoneWeights = null;
+        this.desirabilityEngine = null;
+        this.candidateProcessors = null;
+        this.processorAssignments = null;
     }
 
     /**
      * **ENHANCED**: 採用偽隨機比例規則，從所有可行的 (任務, 處理器) 組合中選出下一步。
      * 新增向上排名作為啟發式資訊的一部分。
-     * **PERFORMANCE**: Optimized mathematical operations.
+     * **PERFORMANCE**: 候選以平行的原始陣列 (struct-of-arrays) 儲存，在同一次掃描中
+     * 求出最大值與累積權重，輪盤選擇以二分搜尋前綴和完成。結果寫入 selectedTask / selectedProcessor / selectedEntry。
      */
-    private Candidate selectNextMove(List<Integer> readyTasks, DAG dag, double[][] pheromoneMatrix, double alpha, double beta, Processor[] processors, int[] currentAssignments, double[] taskFinishTimes, double q0) {
-        List<Candidate> candidates = new ArrayList<>();
+    private void selectNextMove(double q0, SplittableRandom random) {
+        int entryCount = readyTasks.size() * rowWidth;
+        ensureCandidateCapacity(entryCount);
+        int[] entries = candidateEntries;
+        double[] prefix = candidatePrefixSums;
+        double[] desirabilities = rowDesirability;
+
+        int count = 0;
         double totalDesirability = 0.0;
-        
-        // **PERFORMANCE**: Reset pool index for reuse
-        poolIndex = 0;
-
-        for (int taskId : readyTasks) {
-            double taskImportance = this.upwardRanks[taskId]; // **PERFORMANCE**: Cache outside inner loop
-            
-            for (int pId = 0; pId < dag.getProcessorCount(); pId++) {
-                // **PERFORMANCE**: Reduced Math.pow calls
-                double pheromone = (alpha == 1.0) ? pheromoneMatrix[taskId][pId] : Math.pow(pheromoneMatrix[taskId][pId], alpha);
-
-                // **ENHANCED**: 啟發式資訊結合 EFT 和 Upward Rank
-                double eft = calculateEFT(taskId, pId, dag, processors, currentAssignments, taskFinishTimes);
-                if (eft == 0) eft = 0.0001; // Avoid division by zero
-
-                // **NEW**: Enhanced heuristic = (1/EFT) × UpwardRank
-                double heuristic = (1.0 / eft) * taskImportance;
-                
-                // **PERFORMANCE**: Optimized power calculation
-                double desirability = pheromone * ((beta == 1.0) ? heuristic : Math.pow(heuristic, beta));
-
-                if (Double.isFinite(desirability)) {
-                    // **PERFORMANCE**: Use object pool to reduce allocation
-                    Candidate candidate;
-                    if (poolIndex < candidatePool.size()) {
-                        candidate = candidatePool.get(poolIndex);
-                        candidate.set(taskId, pId, desirability);
-                    } else {
-                        candidate = new Candidate(taskId, pId, desirability);
-                        candidatePool.add(candidate);
-                    }
-                    poolIndex++;
-                    
-                    candidates.add(candidate);
-                    totalDesirability += desirability;
+        int best = -1;
+        double bestDesirability = 0.0;
+
+        // 依槽位、處理器的順序掃描快取的吸引力
+        for (int entry = 0; entry < entryCount; entry++) {
+            double desirability = desirabilities[entry];
+            if (Double.isFinite(desirability)) {
+                entries[count] = entry;
+                totalDesirability += desirability;
+                prefix[count] = totalDesirability;
+                // 嚴格大於：相同值時保留第一個候選
+                if (best == -1 || desirability > bestDesirability) {
+                    best = count;
+                    bestDesirability = desirability;
                 }
+                count++;
             }
         }
 
-        if (candidates.isEmpty()) {
+        if (count == 0) {
             // Fallback: choose a random ready task and assign to a random processor
-            int randomTask = readyTasks.get(random.nextInt(readyTasks.size()));
-            return new Candidate(randomTask, random.nextInt(dag.getProcessorCount()), 0);
+            int slot = random.nextInt(readyTasks.size());
+            int column = random.nextInt(rowWidth);
+            selectedTask = readyTasks.get(slot);
+            selectedProcessor = processorAt(selectedTask, column);
+            selectedEntry = slot * rowWidth + column;
+            return;
         }
 
         // --- **NEW** Pseudo-random proportional rule ---
+        int chosen;
         if (random.nextDouble() < q0) {
             // Exploitation: Choose the best candidate
-            return candidates.stream()
-                             .max(Comparator.comparingDouble(c -> c.desirability))
-                             .orElse(candidates.get(0)); // Should not be empty here
+            chosen = best;
+        } else if (totalDesirability == 0) {
+            chosen = random.nextInt(count);
         } else {
-            // Exploration: Roulette wheel selection
-            if (totalDesirability == 0) {
-                return candidates.get(random.nextInt(candidates.size()));
-            }
+            // Exploration: Roulette wheel selection — 第一個累積權重 >= roll 的候選
             double roll = random.nextDouble() * totalDesirability;
-            double cumulative = 0.0;
-            for (Candidate c : candidates) {
-                cumulative += c.desirability;
-                if (roll <= cumulative) {
-                    return c;
-                }
+            chosen = firstPrefixAtLeast(prefix, count, roll);
+            if (chosen == count) {
+                chosen = random.nextInt(count); // Fallback
             }
         }
-        
-        return candidates.get(random.nextInt(candidates.size())); // Fallback
+        selectedEntry = entries[chosen];
+        selectedTask = readyTasks.get(selectedEntry / rowWidth);
+        selectedProcessor = processorAt(selectedTask, selectedEntry % rowWidth);
     }
     
     /**
-     * 計算在給定處理器上執行任務的EFT (Earliest Finish Time)
+     * 在非遞減的前綴和中找出第一個 >= value 的位置，找不到則回傳 count
      */
-    private double calculateEFT(int taskId, int processorId, DAG dag, Processor[] processors, int[] currentAssignments, double[] taskFinishTimes) {
-        double est = calculateEST(taskId, processorId, dag, processors, currentAssignments, taskFinishTimes);
-        return est + dag.getComputationCost(taskId, processorId);
+    private static int firstPrefixAtLeast(double[] prefix, int count, double value) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (prefix[mid] >= value) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
     }
+    
+    private void ensureCandidateCapacity(int capacity) {
+        if (candidateEntries.length < capacity) {
+            int newCapacity = Math.max(capacity, candidateEntries.length * 2);
+            candidateEntries = new int[newCapacity];
+            candidatePrefixSums = new double[newCapacity];
+        }
+    }
+    
+    /**
+     * 加入新的可執行任務，並計算其整列的數據就緒時間與吸引力
+     */
+    private void addReadyTask(int taskId) {
+        int slot = readyTasks.size();
+        int rowStart = slot * rowWidth;
+        if (rowDataReady.length < rowStart + rowWidth) {
+            int newLength = Math.max(rowStart + rowWidth, rowDataReady.length * 2);
+            rowDataReady = Arrays.copyOf(rowDataReady, newLength);
+            rowDesirability = Arrays.copyOf(rowDesirability, newLength);
+        }
+        readyTasks.add(taskId);
 
+        // 數據就緒時間：每個處理器上依前驅順序取嚴格最大值（與逐一計算 EST 相同）
+        Arrays.fill(rowDataReady, rowStart, rowStart + rowWidth, 0.0);
+        CsrGraph graph = dag.getGraph();
+        int[] predOffsets = graph.getPredecessorOffsets();
+        int[] predSources = graph.getPredecessorSources();
+        int[] predEdgeIds = graph.getPredecessorEdgeIds();
+        if (candidateProcessors == null) {
+            // **PERFORMANCE**: 整列涵蓋所有處理器，逐元素運算交給 RowKernel
+            CommunicationCostTable commTable = dag.getCommunicationCostTable();
+            for (int e = predOffsets[taskId], end = predOffsets[taskId + 1]; e < end; e++) {
+                int predId = predSources[e];
+                commTable.accumulateDataReady(kernel, predEdgeIds[e], processorAssignments[predId], taskFinishTimes[predId],
+                                              rowDataReady, rowStart);
+            }
+            if (!insertion) {
+                kernel.heuristics(processorReadyTimes, rowDataReady, rowStart, dag.getTask(taskId).getComputationCosts(),
+                                  upwardRanks[taskId], rowDesirability, rowStart, rowWidth);
+                desirabilityEngine.weighRow(rowDesirability, rowStart, pheromoneWeights, taskId * processorCount, rowWidth, kernel);
+                return;
+            }
+        } else {
+            for (int e = predOffsets[taskId], end = predOffsets[taskId + 1]; e < end; e++) {
+                int predId = predSources[e];
+                int predProcessorId = processorAssignments[predId];
+                double predFinishTime = taskFinishTimes[predId];
+                for (int j = 0; j < rowWidth; j++) {
+                    double dataReadyTime = predFinishTime + dag.getEdgeCommunicationCost(predEdgeIds[e], predProcessorId, processorAt(taskId, j));
+                    if (dataReadyTime > rowDataReady[rowStart + j]) {
+                        rowDataReady[rowStart + j] = dataReadyTime;
+                    }
+                }
+            }
+        }
+        for (int j = 0; j < rowWidth; j++) {
+            rowDesirability[rowStart + j] = desirability(taskId, processorAt(taskId, j), rowDataReady[rowStart + j]);
+        }
+    }
+    
     /**
-     * 計算在給定處理器上執行任務的EST (Earliest Start Time)
+     * 移除被排定的任務：ReadySet 把最後一個任務移入空出的槽位，列資料跟著搬移
      */
-    private double calculateEST(int taskId, int processorId, DAG dag, Processor[] processors, int[] currentAssignments, double[] taskFinishTimes) {
-        double processorReadyTime = processors[processorId].getReadyTime();
-        
-        double maxDataReadyTime = 0.0;
-        for (int predId : dag.getTask(taskId).getPredecessors()) {
-            int predProcessorId = currentAssignments[predId];
-            double predFinishTime = taskFinishTimes[predId];
-            double commCost = dag.getCommunicationCost(predId, taskId, predProcessorId, processorId);
-            double dataReadyTime = predFinishTime + commCost;
-            if (dataReadyTime > maxDataReadyTime) {
-                maxDataReadyTime = dataReadyTime;
+    private void removeReadyTask(int taskId) {
+        int slot = readyTasks.remove(taskId);
+        int last = readyTasks.size();
+        if (slot != last) {
+            System.arraycopy(rowDataReady, last * rowWidth, rowDataReady, slot * rowWidth, rowWidth);
+            System.arraycopy(rowDesirability, last * rowWidth, rowDesirability, slot * rowWidth, rowWidth);
+        }
+    }
+    
+    /**
+     * 處理器的可用時間改變後，只重新計算該處理器那一欄（候選模式下只有以它為候選的任務）
+     */
+    private void refreshProcessorColumn(int processorId) {
+        int readyCount = readyTasks.size();
+        if (candidateProcessors == null) {
+            for (int slot = 0; slot < readyCount; slot++) {
+                int entry = slot * rowWidth + processorId;
+                rowDesirability[entry] = desirability(readyTasks.get(slot), processorId, rowDataReady[entry]);
             }
+            return;
         }
+        for (int slot = 0; slot < readyCount; slot++) {
+            int taskId = readyTasks.get(slot);
+            int candidateBase = taskId * rowWidth;
+            for (int j = 0; j < rowWidth; j++) {
+                if (candidateProcessors[candidateBase + j] == processorId) {
+                    int entry = slot * rowWidth + j;
+                    rowDesirability[entry] = desirability(taskId, processorId, rowDataReady[entry]);
+                    break;
+                }
+            }
+        }
+    }
+    
+    /**
+     * 列中第 column 欄對應的處理器
+     */
+    private int processorAt(int taskId, int column) {
+        return (candidateProcessors == null) ? column : candidateProcessors[taskId * rowWidth + column];
+    }
+    
+    /**
+     * 任務在處理器上的吸引力 = τ^α × ((1/EFT) × UpwardRank)^β
+     */
+    private double desirability(int taskId, int processorId, double dataReadyTime) {
+        // **PERFORMANCE**: τ^α 已在每一代預先計算
+        double pheromone = pheromoneWeights[taskId * processorCount + processorId];
+
+        // **ENHANCED**: 啟發式資訊結合 EFT 和 Upward Rank
+        double cost = dag.getComputationCost(taskId, processorId);
+        double eft = earliestStart(processorId, dataReadyTime, cost) + cost;
+        if (eft == 0) eft = 0.0001; // Avoid division by zero
+
+        // **NEW**: Enhanced heuristic = (1/EFT) × UpwardRank
+        double heuristic = (1.0 / eft) * upwardRanks[taskId];
         
-        return Math.max(processorReadyTime, maxDataReadyTime);
+        // **PERFORMANCE**: Exponent strategy chosen once per run (identity / multiplication / Math.pow)
+        return pheromone * desirabilityEngine.heuristicWeight(heuristic);
+    }
+
+    /**
+     * 任務在處理器上最早的開始時間（APPEND：接在最後一個任務之後；INSERTION：最早可容納的閒置時段）
+     */
+    private double earliestStart(int processorId, double dataReadyTime, double cost) {
+        if (insertion) {
+            return timelines[processorId].earliestStart(dataReadyTime, cost);
+        }
+        return Math.max(processorReadyTimes[processorId], dataReadyTime);
+    }
+    
+    private void ensureTimelines(int processorCount) {
+        if (timelines.length < processorCount) {
+            ProcessorTimeline[] grown = Arrays.copyOf(timelines, processorCount);
+            for (int p = timelines.length; p < processorCount; p++) {
+                grown[p] = new ProcessorTimeline();
+            }
+            timelines = grown;
+        }
+        for (int p = 0; p < processorCount; p++) {
+            timelines[p].reset();
+        }
+    }
+    
+    /**
+     * **NEW**: 設定此螞蟻（工作區）之後建構解時使用的放置方式
+     */
+    public void setSchedulingPolicy(SchedulingPolicy policy) {
+        this.schedulingPolicy = policy;
+    }
+    
+    public SchedulingPolicy getSchedulingPolicy() {
+        return schedulingPolicy;
     }
 
     public Schedule getSchedule() {
@@ -0,0 +1,102 @@
+package aco;
+
+import core.DAG;
+import core.EvaluationContext;
+import core.Schedule;
+import core.SchedulingPolicy;
+import java.util.Arrays;
+
+/**
+ * AntSolution類別：螞蟻建構結果的精簡形式（處理器分配 + 執行順序 + makespan）
+ * 由 ACO 每次執行配置一次、每一代重複使用，只有需要局部搜尋的候選解才轉成 Schedule。
+ */
+public final class AntSolution {
+    private final int[] assignment; // assignment[i] = 任務 i 的處理器
+    private final int[] taskOrder;
+    private double makespan = Double.NaN;
+
+    public AntSolution(int taskCount) {
+        this.assignment = new int[taskCount];
+        this.taskOrder = new int[taskCount];
+    }
+
+    /**
+     * 以 EvaluationContext 模擬計算 makespan（不配置 Schedule）
+     */
+    public double evaluate(DAG dag) {
+        return evaluate(dag, SchedulingPolicy.APPEND);
+    }
+
+    /**
+     * **NEW**: 以指定的放置方式模擬計算 makespan（須與建構時螞蟻使用的方式相同）
+     */
+    public double evaluate(DAG dag, SchedulingPolicy policy) {
+        makespan = EvaluationContext.current().evaluate(dag, assignment, taskOrder, policy);
+        return makespan;
+    }
+
+    /**
+     * 建立內容相同的 Schedule（複製陣列，尚未評估）
+     */
+    public Schedule toSchedule(DAG dag) {
+        return new Schedule(dag, assignment, taskOrder);
+    }
+
+    /**
+     * **NEW**: 建立使用指定放置方式的 Schedule（複製陣列，尚未評估）
+     */
+    public Schedule toSchedule(DAG dag, SchedulingPolicy policy) {
+        Schedule schedule = new Schedule(dag, assignment, taskOrder);
+        schedule.setSchedulingPolicy(policy);
+        return schedule;
+    }
+
+    /**
+     * 以 Schedule 的內容覆寫此解
+     */
+    public void copyFrom(Schedule schedule) {
+        System.arraycopy(schedule.getChromosome(), 0, assignment, 0, assignment.length);
+        System.arraycopy(schedule.getTaskOrderArray(), 0, taskOrder, 0, taskOrder.length);
+        makespan = schedule.getMakespan();
+    }
+
+    public int getProcessorForTask(int taskId) {
+        return assignment[taskId];
+    }
+
+    /**
+     * 內部陣列（螞蟻建構時直接寫入）
+     */
+    int[] getAssignment() {
+        return assignment;
+    }
+
+    int[] getTaskOrderArray() {
+        return taskOrder;
+    }
+
+    public double getMakespan() {
+        return makespan;
+    }
+
+    public int getTaskCount() {
+        return assignment.length;
+    }
+
+    // 與 Schedule 相同：分配與順序皆相同才視為同一個解
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AntSolution other = (AntSolution) o;
+        return Arrays.equals(assignment, other.assignment) &&
+               Arrays.equals(taskOrder, other.taskOrder);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 31 + Arrays.hashCode(taskOrder);
+        result = 31 * result + Arrays.hashCode(assignment);
+        return result;
+    }
+}
@@ -0,0 +1,158 @@
+package aco;
+
+import core.DAG;
+import core.SchedulingPolicy;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * ColonyProtocol類別：分散式蟻群 master 與 worker 之間的二進位協定（DataInput / DataOutput，big-endian）
+ *
+ * 連線建立後：
+ * 1. worker → master：MAGIC、worker 編號
+ * 2. master → worker：Config（DAG 檔案路徑、ACO 參數、種子、遷移間隔）
+ * 3. 每一回合 worker 執行 migrationInterval 代後送出 REPORT（代數、是否結束、最佳排程、資訊素摘要），
+ *    master 收齊所有 worker 的報告後回覆 MIGRANT（全域最佳排程與資訊素共識）或 STOP
+ *
+ * 整數陣列以長度加內容編碼，長度 -1 表示 null。
+ */
+public final class ColonyProtocol {
+    public static final int MAGIC = 0x41434F31; // "ACO1"
+    public static final byte REPORT = 1;
+    public static final byte MIGRANT = 2;
+    public static final byte STOP = 3;
+
+    private ColonyProtocol() {
+    }
+
+    /**
+     * worker 建立蟻群所需的全部設定
+     */
+    public static final class Config {
+        public String dagFile;
+        public int numAnts;
+        public int generations;
+        public double alpha;
+        public double beta;
+        public double evaporationRate;
+        public double q0;
+        public double elitistWeight;
+        public int numRankedAnts;
+        public double pheromoneSmoothingFactor;
+        public long seed;
+        public SchedulingPolicy schedulingPolicy = SchedulingPolicy.APPEND;
+        public boolean lazyEvaporation;
+        public int candidatesPerTask;
+        public int candidateRefreshInterval = 10;
+        public int migrationInterval;
+        public double pheromoneSharingWeight;
+
+        public Config copy() {
+            Config copy = new Config();
+            copy.dagFile = dagFile;
+            copy.numAnts = numAnts;
+            copy.generations = generations;
+            copy.alpha = alpha;
+            copy.beta = beta;
+            copy.evaporationRate = evaporationRate;
+            copy.q0 = q0;
+            copy.elitistWeight = elitistWeight;
+            copy.numRankedAnts = numRankedAnts;
+            copy.pheromoneSmoothingFactor = pheromoneSmoothingFactor;
+            copy.seed = seed;
+            copy.schedulingPolicy = schedulingPolicy;
+            copy.lazyEvaporation = lazyEvaporation;
+            copy.candidatesPerTask = candidatesPerTask;
+            copy.candidateRefreshInterval = candidateRefreshInterval;
+            copy.migrationInterval = migrationInterval;
+            copy.pheromoneSharingWeight = pheromoneSharingWeight;
+            return copy;
+        }
+
+        /**
+         * 依設定建立蟻群（單執行緒建構螞蟻，一個 worker 程序一個蟻群）
+         */
+        public ACO createColony(DAG dag) {
+            ACO colony = new ACO(numAnts, generations, alpha, beta, evaporationRate, q0, elitistWeight, numRankedAnts,
+                    pheromoneSmoothingFactor, dag, seed, 1);
+            colony.setSchedulingPolicy(schedulingPolicy);
+            if (lazyEvaporation) {
+                colony.setLazyEvaporation(true);
+            }
+            if (candidatesPerTask > 0) {
+                colony.setProcessorCandidates(candidatesPerTask, candidateRefreshInterval);
+            }
+            return colony;
+        }
+
+        public void write(DataOutputStream out) throws IOException {
+            out.writeUTF(dagFile);
+            out.writeInt(numAnts);
+            out.writeInt(generations);
+            out.writeDouble(alpha);
+            out.writeDouble(beta);
+            out.writeDouble(evaporationRate);
+            out.writeDouble(q0);
+            out.writeDouble(elitistWeight);
+            out.writeInt(numRankedAnts);
+            out.writeDouble(pheromoneSmoothingFactor);
+            out.writeLong(seed);
+            out.writeUTF(schedulingPolicy.name());
+            out.writeBoolean(lazyEvaporation);
+            out.writeInt(candidatesPerTask);
+            out.writeInt(candidateRefreshInterval);
+            out.writeInt(migrationInterval);
+            out.writeDouble(pheromoneSharingWeight);
+        }
+
+        public static Config read(DataInputStream in) throws IOException {
+            Config config = new Config();
+            config.dagFile = in.readUTF();
+            config.numAnts = in.readInt();
+            config.generations = in.readInt();
+            config.alpha = in.readDouble();
+            config.beta = in.readDouble();
+            config.evaporationRate = in.readDouble();
+            config.q0 = in.readDouble();
+            config.elitistWeight = in.readDouble();
+            config.numRankedAnts = in.readInt();
+            config.pheromoneSmoothingFactor = in.readDouble();
+            config.seed = in.readLong();
+            config.schedulingPolicy = SchedulingPolicy.valueOf(in.readUTF());
+            config.lazyEvaporation = in.readBoolean();
+            config.candidatesPerTask = in.readInt();
+            config.candidateRefreshInterval = in.readInt();
+            config.migrationInterval = in.readInt();
+            config.pheromoneSharingWeight = in.readDouble();
+            return config;
+        }
+    }
+
+    public static void writeIntArray(DataOutputStream out, int[] values) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    public static int[] readIntArray(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0) {
+            throw new IOException("Invalid array length: " + length);
+        }
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,94 @@
+package aco;
+
+import core.DAG;
+import core.Schedule;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * ColonyWorker類別：分散式蟻群的 worker 程序
+ * 連線到 master、取得設定後自行載入 DAG 並執行一個蟻群；每 migrationInterval 代回報最佳排程與資訊素摘要，
+ * 並採用 master 回覆的全域最佳排程（只在較佳時）與資訊素共識，直到 master 回覆 STOP。
+ *
+ * 用法：java -cp <classpath> aco.ColonyWorker <host> <port> <worker 編號>
+ */
+public class ColonyWorker {
+    private final String host;
+    private final int port;
+    private final int workerIndex;
+
+    public ColonyWorker(String host, int port, int workerIndex) {
+        this.host = host;
+        this.port = port;
+        this.workerIndex = workerIndex;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: java aco.ColonyWorker <host> <port> <worker index>");
+            System.exit(2);
+        }
+        new ColonyWorker(args[0], Integer.parseInt(args[1]), Integer.parseInt(args[2])).run();
+    }
+
+    public void run() throws IOException {
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeInt(ColonyProtocol.MAGIC);
+            out.writeInt(workerIndex);
+            out.flush();
+
+            ColonyProtocol.Config config = ColonyProtocol.Config.read(in);
+            DAG dag = new DAG();
+            dag.loadFromFile(config.dagFile);
+            ACO colony = config.createColony(dag);
+            colony.setQuiet(true); // master 捨棄 worker 的標準輸出
+            colony.initialize();
+
+            while (true) {
+                for (int g = 0; g < config.migrationInterval && !colony.isFinished(); g++) {
+                    colony.step();
+                }
+                sendReport(out, colony);
+
+                byte reply = in.readByte();
+                if (reply == ColonyProtocol.STOP) {
+                    break;
+                }
+                if (reply != ColonyProtocol.MIGRANT) {
+                    throw new IOException("Unexpected message from master: " + reply);
+                }
+                int[] assignment = ColonyProtocol.readIntArray(in);
+                int[] taskOrder = ColonyProtocol.readIntArray(in);
+                int[] consensus = ColonyProtocol.readIntArray(in);
+                if (assignment != null) {
+                    colony.acceptMigrant((taskOrder != null)
+                            ? new Schedule(dag, assignment, taskOrder)
+                            : new Schedule(dag, assignment));
+                }
+                if (consensus != null && config.pheromoneSharingWeight > 0) {
+                    colony.blendPheromoneSummary(consensus, config.pheromoneSharingWeight);
+                }
+            }
+        }
+    }
+
+    private static void sendReport(DataOutputStream out, ACO colony) throws IOException {
+        Schedule best = colony.getBestSchedule();
+        out.writeByte(ColonyProtocol.REPORT);
+        out.writeInt(colony.getGeneration());
+        out.writeBoolean(colony.isFinished());
+        ColonyProtocol.writeIntArray(out, (best != null) ? best.getChromosome() : null);
+        ColonyProtocol.writeIntArray(out, (best != null) ? best.getTaskOrderArray() : null);
+        out.writeDouble((best != null) ? best.getMakespan() : Double.MAX_VALUE);
+        ColonyProtocol.writeIntArray(out, colony.getPheromoneSummary());
+        out.flush();
+    }
+}
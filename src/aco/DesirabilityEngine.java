@@ -0,0 +1,173 @@
+package aco;
+
+import core.RowKernel;
+
+/**
+ * DesirabilityEngine類別：計算螞蟻吸引力 τ^α × η^β 中的兩個次方項
+ * 每次執行依 α、β 選定一次計算方式：
+ * 1 直接使用原值、0.5 以 Math.sqrt、小整數次方以連乘（平方求冪）、半整數次方以連乘再乘上平方根，
+ * 其餘才呼叫 Math.pow。半整數次方與 Math.pow 的結果可能相差最後一位。
+ *
+ * τ^α 只與資訊素有關，每一代由 weightPheromones 預先算成矩陣供所有螞蟻共用，
+ * 建構解時每個候選只剩 η^β 一次次方運算。
+ */
+public final class DesirabilityEngine {
+    // 以連乘計算的最大整數次方
+    private static final int MAX_MULTIPLIED_EXPONENT = 16;
+
+    private enum Kind { IDENTITY, SQRT, INTEGER, HALF_INTEGER, GENERAL }
+
+    private final double alpha;
+    private final double beta;
+    private final Kind alphaKind;
+    private final Kind betaKind;
+
+    private DesirabilityEngine(double alpha, double beta) {
+        this.alpha = alpha;
+        this.beta = beta;
+        this.alphaKind = kindOf(alpha);
+        this.betaKind = kindOf(beta);
+    }
+
+    /**
+     * 依參數選定計算方式
+     * @param alpha 資訊素的權重
+     * @param beta 啟發式資訊的權重
+     */
+    public static DesirabilityEngine of(double alpha, double beta) {
+        return new DesirabilityEngine(alpha, beta);
+    }
+
+    private static Kind kindOf(double exponent) {
+        if (exponent == 1.0) {
+            return Kind.IDENTITY;
+        }
+        if (exponent == 0.5) {
+            return Kind.SQRT;
+        }
+        if (exponent == Math.rint(exponent) && Math.abs(exponent) <= MAX_MULTIPLIED_EXPONENT) {
+            return Kind.INTEGER;
+        }
+        if (exponent > 0 && exponent - 0.5 == Math.rint(exponent - 0.5) && exponent < MAX_MULTIPLIED_EXPONENT) {
+            return Kind.HALF_INTEGER;
+        }
+        return Kind.GENERAL;
+    }
+
+    public double getAlpha() { return alpha; }
+    public double getBeta() { return beta; }
+
+    /**
+     * α 為 1 時資訊素即為權重，不需要另外的矩陣
+     */
+    public boolean isPheromoneIdentity() {
+        return alphaKind == Kind.IDENTITY;
+    }
+
+    /**
+     * **PERFORMANCE**: 計算整個資訊素矩陣的 τ^α，每一代一次
+     * @param pheromones 資訊素矩陣的一維陣列 (PheromoneMatrix.getValues())
+     * @param target 存放結果的陣列（長度與資訊素陣列相同）；為 null 時配置新的陣列
+     * @return α 為 1 時回傳 pheromones 本身，否則回傳填好的 target
+     */
+    public double[] weightPheromones(double[] pheromones, double[] target) {
+        if (alphaKind == Kind.IDENTITY) {
+            return pheromones;
+        }
+        if (target == null) {
+            target = new double[pheromones.length];
+        }
+        for (int i = 0; i < pheromones.length; i++) {
+            target[i] = power(pheromones[i], alpha, alphaKind);
+        }
+        return target;
+    }
+
+    /**
+     * **PERFORMANCE**: 延遲蒸發用：在同一次掃描中還原實際值 τ = clamp(stored × scale + offset, min, max) 並計算 τ^α，
+     * 不另外寫出資訊素矩陣（α 為 1 時 target 即為實際值）
+     * @param stored LazyPheromoneMatrix 的存放值
+     * @param target 存放結果的陣列（長度與 stored 相同）；為 null 時配置新的陣列
+     * @return 填好的 target
+     */
+    public double[] weightPheromones(double[] stored, double scale, double offset, double min, double max, double[] target) {
+        if (target == null) {
+            target = new double[stored.length];
+        }
+        Kind kind = alphaKind;
+        for (int i = 0; i < stored.length; i++) {
+            double value = stored[i] * scale + offset;
+            if (value > max) {
+                value = max;
+            } else if (value < min) {
+                value = min;
+            }
+            target[i] = power(value, alpha, kind);
+        }
+        return target;
+    }
+
+    /**
+     * 啟發式資訊的次方 η^β
+     */
+    public double heuristicWeight(double heuristic) {
+        return power(heuristic, beta, betaKind);
+    }
+
+    /**
+     * **PERFORMANCE**: 把一列啟發式資訊轉成吸引力：row[i] = pheromoneWeights[weightStart + i] × row[i]^β
+     * β 為 1 或 2 時交給 kernel 逐元素計算，其餘次方逐一計算
+     */
+    public void weighRow(double[] row, int rowStart, double[] pheromoneWeights, int weightStart, int width, RowKernel kernel) {
+        if (betaKind == Kind.IDENTITY) {
+            kernel.multiply(row, rowStart, pheromoneWeights, weightStart, width);
+        } else if (betaKind == Kind.INTEGER && beta == 2.0) {
+            kernel.multiplySquares(row, rowStart, pheromoneWeights, weightStart, width);
+        } else {
+            for (int i = 0; i < width; i++) {
+                row[rowStart + i] = pheromoneWeights[weightStart + i] * power(row[rowStart + i], beta, betaKind);
+            }
+        }
+    }
+
+    private static double power(double x, double exponent, Kind kind) {
+        switch (kind) {
+            case IDENTITY:
+                return x;
+            case SQRT:
+                return Math.sqrt(x);
+            case INTEGER:
+                return integerPower(x, (int) exponent);
+            case HALF_INTEGER:
+                return integerPower(x, (int) exponent) * Math.sqrt(x);
+            default:
+                return Math.pow(x, exponent);
+        }
+    }
+
+    /**
+     * 平方求冪；次方 2 的結果與 Math.pow(x, 2) 相同 (x * x)
+     */
+    private static double integerPower(double x, int n) {
+        if (n < 0) {
+            return 1.0 / integerPower(x, -n);
+        }
+        double result = 1.0;
+        double base = x;
+        while (n > 0) {
+            if ((n & 1) != 0) {
+                result *= base;
+            }
+            n >>= 1;
+            if (n > 0) {
+                base *= base;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DesirabilityEngine{alpha=%s (%s), beta=%s (%s)}", alpha, alphaKind, beta, betaKind);
+    }
+}
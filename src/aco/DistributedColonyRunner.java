@@ -0,0 +1,366 @@
+package aco;
+
+import core.DAG;
+import core.Schedule;
+import core.SchedulingPolicy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DistributedColonyRunner類別：多程序分散式蟻群的 master
+ * 在本機啟動 workerCount 個子 JVM（ColonyWorker），以 loopback TCP 連線協調（協定見 ColonyProtocol）。
+ * 每個 worker 自行載入 DAG 並執行一個獨立的蟻群（種子由 IslandModel.islandSeed 推導），因此每個程序可使用自己的 heap；
+ * 每 migrationInterval 代 master 收齊所有 worker 的報告，保存全域最佳排程，
+ * 並把它與資訊素共識（每個任務多數 worker 偏好的處理器）送回所有 worker。
+ *
+ * 每一回合依 worker 編號處理報告，結果只取決於基礎種子與設定。
+ * worker 在連線前結束時立即回報錯誤；連線後的每個訊息有讀取時限（setReadTimeoutMillis），停滯的 worker 不會讓 master 永遠等待。
+ */
+public class DistributedColonyRunner {
+    private static final int DEFAULT_MIGRATION_INTERVAL = 10;
+    private static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 60_000;
+    private static final int DEFAULT_READ_TIMEOUT_MILLIS = 600_000;
+    private static final int ACCEPT_POLL_MILLIS = 200; // 等待連線時檢查 worker 是否仍在執行的間隔
+    private static final long WORKER_EXIT_TIMEOUT_SECONDS = 10;
+
+    private final ColonyProtocol.Config config = new ColonyProtocol.Config();
+    private final int workerCount;
+    private final long baseSeed;
+    private List<String> workerJvmOptions = new ArrayList<>();
+    private int connectTimeoutMillis = DEFAULT_CONNECT_TIMEOUT_MILLIS;
+    private int readTimeoutMillis = DEFAULT_READ_TIMEOUT_MILLIS;
+
+    // master 保存的全域最佳解
+    private int[] bestAssignment;
+    private int[] bestTaskOrder;
+    private double bestMakespan = Double.MAX_VALUE;
+    private Schedule bestSchedule;
+    private int roundCount;
+
+    /**
+     * @param dagFile DAG 檔案（worker 以絕對路徑各自載入）
+     * @param seed 基礎種子；第 i 個 worker 使用 IslandModel.islandSeed(seed, i)
+     * @param workerCount worker 程序數量
+     */
+    public DistributedColonyRunner(int numAnts, int generations, double alpha, double beta, double evaporationRate, double q0, double elitistWeight, int numRankedAnts, double pheromoneSmoothingFactor, String dagFile, long seed, int workerCount) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("Worker count must be at least 1: " + workerCount);
+        }
+        config.dagFile = new File(dagFile).getAbsolutePath();
+        config.numAnts = numAnts;
+        config.generations = generations;
+        config.alpha = alpha;
+        config.beta = beta;
+        config.evaporationRate = evaporationRate;
+        config.q0 = q0;
+        config.elitistWeight = elitistWeight;
+        config.numRankedAnts = numRankedAnts;
+        config.pheromoneSmoothingFactor = pheromoneSmoothingFactor;
+        config.migrationInterval = DEFAULT_MIGRATION_INTERVAL;
+        this.baseSeed = seed;
+        this.workerCount = workerCount;
+    }
+
+    /**
+     * 每隔幾代交換一次最佳排程與資訊素摘要
+     */
+    public void setMigrationInterval(int migrationInterval) {
+        if (migrationInterval < 1) {
+            throw new IllegalArgumentException("Migration interval must be at least 1: " + migrationInterval);
+        }
+        config.migrationInterval = migrationInterval;
+    }
+
+    /**
+     * 資訊素共識的權重：共識處理器的資訊素往 tau_max 移動的比例（0 表示只交換最佳排程）
+     */
+    public void setPheromoneSharingWeight(double weight) {
+        if (weight < 0 || weight > 1) {
+            throw new IllegalArgumentException("Pheromone sharing weight must be within [0, 1]: " + weight);
+        }
+        config.pheromoneSharingWeight = weight;
+    }
+
+    public void setSchedulingPolicy(SchedulingPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Scheduling policy must not be null");
+        }
+        config.schedulingPolicy = policy;
+    }
+
+    public void setLazyEvaporation(boolean lazy) {
+        if (lazy && config.pheromoneSmoothingFactor > 0) {
+            throw new IllegalArgumentException("Lazy evaporation does not support pheromone smoothing: " + config.pheromoneSmoothingFactor);
+        }
+        config.lazyEvaporation = lazy;
+    }
+
+    public void setProcessorCandidates(int candidatesPerTask, int refreshInterval) {
+        if (candidatesPerTask < 0) {
+            throw new IllegalArgumentException("Candidates per task must not be negative: " + candidatesPerTask);
+        }
+        if (refreshInterval < 1) {
+            throw new IllegalArgumentException("Candidate refresh interval must be at least 1: " + refreshInterval);
+        }
+        config.candidatesPerTask = candidatesPerTask;
+        config.candidateRefreshInterval = refreshInterval;
+    }
+
+    /**
+     * worker JVM 的額外參數，例如 -Xmx16g
+     */
+    public void setWorkerJvmOptions(List<String> options) {
+        this.workerJvmOptions = new ArrayList<>(options);
+    }
+
+    /**
+     * 等待所有 worker 連線的時間上限
+     */
+    public void setConnectTimeoutMillis(int connectTimeoutMillis) {
+        if (connectTimeoutMillis < 1) {
+            throw new IllegalArgumentException("Connect timeout must be positive: " + connectTimeoutMillis);
+        }
+        this.connectTimeoutMillis = connectTimeoutMillis;
+    }
+
+    /**
+     * 等待單一 worker 訊息（握手與每一回合的報告）的時間上限；必須大於 worker 執行 migrationInterval 代所需的時間。
+     * 0 表示不限時間
+     */
+    public void setReadTimeoutMillis(int readTimeoutMillis) {
+        if (readTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Read timeout must not be negative: " + readTimeoutMillis);
+        }
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+
+    public Schedule run() throws IOException {
+        // master 也載入 DAG，用來重建並驗證最後的排程
+        DAG dag = new DAG();
+        dag.loadFromFile(config.dagFile);
+
+        Process[] processes = new Process[workerCount];
+        Socket[] sockets = new Socket[workerCount];
+        try (ServerSocket server = new ServerSocket(0, workerCount, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout(ACCEPT_POLL_MILLIS);
+            for (int i = 0; i < workerCount; i++) {
+                processes[i] = startWorker(server.getLocalPort(), i);
+            }
+            DataInputStream[] inputs = new DataInputStream[workerCount];
+            DataOutputStream[] outputs = new DataOutputStream[workerCount];
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(connectTimeoutMillis);
+            for (int connected = 0; connected < workerCount; connected++) {
+                Socket socket = accept(server, processes, sockets, deadline);
+                socket.setTcpNoDelay(true);
+                socket.setSoTimeout(readTimeoutMillis);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                if (in.readInt() != ColonyProtocol.MAGIC) {
+                    socket.close();
+                    throw new IOException("Unexpected handshake from " + socket.getRemoteSocketAddress());
+                }
+                int workerIndex = in.readInt();
+                if (workerIndex < 0 || workerIndex >= workerCount || sockets[workerIndex] != null) {
+                    socket.close();
+                    throw new IOException("Invalid worker index: " + workerIndex);
+                }
+                sockets[workerIndex] = socket;
+                inputs[workerIndex] = in;
+                outputs[workerIndex] = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            }
+
+            for (int i = 0; i < workerCount; i++) {
+                ColonyProtocol.Config workerConfig = config.copy();
+                workerConfig.seed = IslandModel.islandSeed(baseSeed, i);
+                workerConfig.write(outputs[i]);
+                outputs[i].flush();
+            }
+
+            runRounds(dag, inputs, outputs);
+        } finally {
+            for (Socket socket : sockets) {
+                if (socket != null) {
+                    socket.close();
+                }
+            }
+            stopWorkers(processes);
+        }
+
+        if (bestAssignment == null) {
+            return null;
+        }
+        bestSchedule = (bestTaskOrder != null)
+                ? new Schedule(dag, bestAssignment, bestTaskOrder)
+                : new Schedule(dag, bestAssignment);
+        bestSchedule.setSchedulingPolicy(config.schedulingPolicy);
+        bestSchedule.evaluateFitness();
+        System.out.printf("Finished distributed run (%d workers, %d rounds). Best Makespan: %.2f\n",
+                workerCount, roundCount, bestSchedule.getMakespan());
+        return bestSchedule;
+    }
+
+    // 短暫等待連線；每次逾時檢查尚未連線的 worker 是否已結束，以便 worker 啟動失敗時立即回報
+    private Socket accept(ServerSocket server, Process[] processes, Socket[] sockets, long deadline) throws IOException {
+        while (true) {
+            try {
+                return server.accept();
+            } catch (SocketTimeoutException e) {
+                for (int i = 0; i < workerCount; i++) {
+                    if (sockets[i] == null && !processes[i].isAlive()) {
+                        throw new IOException("Worker " + i + " exited with code " + processes[i].exitValue() + " before connecting");
+                    }
+                }
+                if (System.nanoTime() - deadline >= 0) {
+                    throw new SocketTimeoutException("Timed out after " + connectTimeoutMillis + " ms waiting for workers to connect");
+                }
+            }
+        }
+    }
+
+    // 每一回合依編號讀取所有仍在執行的 worker 的報告，再回覆全域最佳解與資訊素共識（或 STOP）
+    private void runRounds(DAG dag, DataInputStream[] inputs, DataOutputStream[] outputs) throws IOException {
+        boolean[] active = new boolean[workerCount];
+        Arrays.fill(active, true);
+        int activeCount = workerCount;
+        int[][] summaries = new int[workerCount][];
+        boolean[] finished = new boolean[workerCount];
+        int[] votes = new int[dag.getProcessorCount()];
+
+        while (activeCount > 0) {
+            int maxGeneration = 0;
+            for (int i = 0; i < workerCount; i++) {
+                if (!active[i]) {
+                    continue;
+                }
+                DataInputStream in = inputs[i];
+                byte type;
+                try {
+                    type = in.readByte();
+                } catch (SocketTimeoutException e) {
+                    throw new SocketTimeoutException("Worker " + i + " sent no report within " + readTimeoutMillis + " ms");
+                }
+                if (type != ColonyProtocol.REPORT) {
+                    throw new IOException("Unexpected message from worker " + i + ": " + type);
+                }
+                maxGeneration = Math.max(maxGeneration, in.readInt());
+                finished[i] = in.readBoolean();
+                int[] assignment = ColonyProtocol.readIntArray(in);
+                int[] taskOrder = ColonyProtocol.readIntArray(in);
+                double makespan = in.readDouble();
+                summaries[i] = ColonyProtocol.readIntArray(in);
+                if (assignment != null && makespan < bestMakespan) {
+                    bestAssignment = assignment;
+                    bestTaskOrder = taskOrder;
+                    bestMakespan = makespan;
+                }
+            }
+
+            int[] consensus = (config.pheromoneSharingWeight > 0) ? consensus(summaries, active, votes) : null;
+            for (int i = 0; i < workerCount; i++) {
+                if (!active[i]) {
+                    continue;
+                }
+                DataOutputStream out = outputs[i];
+                if (finished[i]) {
+                    out.writeByte(ColonyProtocol.STOP);
+                    active[i] = false;
+                    activeCount--;
+                } else {
+                    out.writeByte(ColonyProtocol.MIGRANT);
+                    ColonyProtocol.writeIntArray(out, bestAssignment);
+                    ColonyProtocol.writeIntArray(out, bestTaskOrder);
+                    ColonyProtocol.writeIntArray(out, consensus);
+                }
+                out.flush();
+            }
+            roundCount++;
+            System.out.printf("Round %d (generation %d): Global Best=%.2f, Active Workers=%d\n",
+                    roundCount, maxGeneration, bestMakespan, activeCount);
+        }
+    }
+
+    // 每個任務取多數 worker 偏好的處理器（同票時取編號較小者）
+    private static int[] consensus(int[][] summaries, boolean[] active, int[] votes) {
+        int taskCount = -1;
+        for (int i = 0; i < summaries.length; i++) {
+            if (active[i] && summaries[i] != null) {
+                taskCount = summaries[i].length;
+                break;
+            }
+        }
+        if (taskCount < 0) {
+            return null;
+        }
+        int[] consensus = new int[taskCount];
+        for (int t = 0; t < taskCount; t++) {
+            Arrays.fill(votes, 0);
+            for (int i = 0; i < summaries.length; i++) {
+                if (active[i] && summaries[i] != null) {
+                    votes[summaries[i][t]]++;
+                }
+            }
+            int best = 0;
+            for (int p = 1; p < votes.length; p++) {
+                if (votes[p] > votes[best]) {
+                    best = p;
+                }
+            }
+            consensus[t] = best;
+        }
+        return consensus;
+    }
+
+    private Process startWorker(int port, int workerIndex) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(workerJvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(ColonyWorker.class.getName());
+        command.add(InetAddress.getLoopbackAddress().getHostAddress());
+        command.add(Integer.toString(port));
+        command.add(Integer.toString(workerIndex));
+        // worker 的逐代輸出捨棄，錯誤訊息顯示在 master 的 stderr
+        return new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+
+    private static void stopWorkers(Process[] processes) {
+        for (Process process : processes) {
+            if (process == null) {
+                continue;
+            }
+            try {
+                if (!process.waitFor(WORKER_EXIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public Schedule getBestSchedule() {
+        return bestSchedule;
+    }
+
+    public int getRoundCount() {
+        return roundCount;
+    }
+}
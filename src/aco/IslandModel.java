@@ -0,0 +1,205 @@
+package aco;
+
+import core.Schedule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * IslandModel類別：島嶼模型的多蟻群 ACO
+ * 每個島嶼是一個獨立的 ACO（各自的資訊素矩陣、q0 調整與停滯計數），各自在一個工作執行緒上逐代執行；
+ * 每 migrationInterval 代所有島嶼同步一次，依遷移拓撲把各島嶼的最佳排程送往鄰居，
+ * 鄰居只在移入的排程較佳時採用（成為它的精英解並重設停滯計數）。
+ *
+ * 遷移在同步點以固定的順序進行（先取得所有島嶼的最佳解，再依島嶼編號送出），
+ * 因此結果只取決於各島嶼的種子，與執行緒數量和排程無關。
+ * 所有島嶼必須使用同一個 DAG；島嶼在呼叫端執行緒上依序初始化，DAG 的啟發式快取因此在平行執行前就已建立。
+ * 島嶼設為安靜模式 (ACO.setQuiet)，標準輸出只有遷移與總結的訊息。
+ */
+public class IslandModel {
+    /**
+     * 遷移拓撲
+     */
+    public enum Topology {
+        /** 第 i 個島嶼的最佳解送往第 (i + 1) mod N 個島嶼 */
+        RING,
+        /** 每個島嶼收到其他所有島嶼中最佳的解 */
+        FULLY_CONNECTED
+    }
+
+    private final ACO[] islands;
+    private final Topology topology;
+    private final int migrationInterval;
+    private final int parallelism;
+    private Schedule bestSchedule;
+    private int migrationCount;
+
+    /**
+     * 每個島嶼一個工作執行緒
+     */
+    public IslandModel(ACO[] islands, Topology topology, int migrationInterval) {
+        this(islands, topology, migrationInterval, islands.length);
+    }
+
+    /**
+     * @param islands 各島嶼的蟻群（同一個 DAG，尚未執行）
+     * @param migrationInterval 每隔幾代遷移一次
+     * @param parallelism 同時執行的島嶼數量（1 = 依序執行）
+     */
+    public IslandModel(ACO[] islands, Topology topology, int migrationInterval, int parallelism) {
+        if (islands.length == 0) {
+            throw new IllegalArgumentException("At least one island is required");
+        }
+        if (migrationInterval < 1) {
+            throw new IllegalArgumentException("Migration interval must be at least 1: " + migrationInterval);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        for (int i = 0; i < islands.length; i++) {
+            if (islands[i].getDag() != islands[0].getDag()) {
+                throw new IllegalArgumentException("Island " + i + " uses a different DAG");
+            }
+            for (int j = 0; j < i; j++) {
+                if (islands[j] == islands[i]) {
+                    throw new IllegalArgumentException("Island " + i + " is the same colony as island " + j);
+                }
+            }
+        }
+        this.islands = islands.clone();
+        this.topology = topology;
+        this.migrationInterval = migrationInterval;
+        this.parallelism = Math.min(parallelism, islands.length);
+    }
+
+    /**
+     * **NEW**: 由基礎種子推導第 island 個島嶼的種子（SplitMix64 混合），使各島嶼的隨機序列互不相關
+     */
+    public static long islandSeed(long baseSeed, int island) {
+        long z = baseSeed + (island + 1) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public Schedule run() {
+        // 島嶼同時執行，逐代輸出會互相交錯
+        for (ACO island : islands) {
+            island.setQuiet(true);
+            island.initialize();
+        }
+
+        ForkJoinPool pool = (parallelism > 1) ? new ForkJoinPool(parallelism) : null;
+        try {
+            while (runEpoch(pool)) {
+                migrate();
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+
+        bestSchedule = null;
+        int bestIsland = -1;
+        for (int i = 0; i < islands.length; i++) {
+            Schedule candidate = islands[i].getBestSchedule();
+            if (candidate != null && (bestSchedule == null || candidate.getMakespan() < bestSchedule.getMakespan())) {
+                bestSchedule = candidate;
+                bestIsland = i;
+            }
+        }
+        if (bestSchedule != null) {
+            System.out.printf("Finished island model (%d islands, %d migrations). Best Makespan: %.2f (island %d)\n",
+                    islands.length, migrationCount, bestSchedule.getMakespan(), bestIsland);
+        }
+        return bestSchedule;
+    }
+
+    // 每個尚未結束的島嶼最多執行 migrationInterval 代；回傳是否仍有島嶼尚未結束
+    private boolean runEpoch(ForkJoinPool pool) {
+        List<ACO> active = new ArrayList<>(islands.length);
+        for (ACO island : islands) {
+            if (!island.isFinished()) {
+                active.add(island);
+            }
+        }
+        if (active.isEmpty()) {
+            return false;
+        }
+        if (pool == null) {
+            for (ACO island : active) {
+                runGenerations(island);
+            }
+        } else {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(active.size());
+            for (ACO island : active) {
+                tasks.add(pool.submit(() -> runGenerations(island)));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        }
+        for (ACO island : islands) {
+            if (!island.isFinished()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void runGenerations(ACO island) {
+        for (int g = 0; g < migrationInterval && !island.isFinished(); g++) {
+            island.step();
+        }
+    }
+
+    // 先取得所有島嶼目前的最佳解，再依島嶼編號送出，結果與島嶼的執行順序無關
+    private void migrate() {
+        int n = islands.length;
+        Schedule[] emigrants = new Schedule[n];
+        for (int i = 0; i < n; i++) {
+            emigrants[i] = islands[i].getBestSchedule();
+        }
+
+        int adopted = 0;
+        for (int i = 0; i < n; i++) {
+            if (islands[i].isFinished()) {
+                continue;
+            }
+            Schedule migrant = (topology == Topology.RING)
+                    ? emigrants[(i - 1 + n) % n]
+                    : bestExcept(emigrants, i);
+            if (migrant != null && migrant != emigrants[i] && islands[i].acceptMigrant(migrant)) {
+                adopted++;
+            }
+        }
+        migrationCount++;
+        System.out.printf("  -> Migration %d (%s): %d island(s) adopted a better schedule\n", migrationCount, topology, adopted);
+    }
+
+    // 除了第 skip 個島嶼以外最佳的排程（相同 makespan 時取編號較小者）
+    private static Schedule bestExcept(Schedule[] schedules, int skip) {
+        Schedule best = null;
+        for (int i = 0; i < schedules.length; i++) {
+            if (i != skip && schedules[i] != null && (best == null || schedules[i].getMakespan() < best.getMakespan())) {
+                best = schedules[i];
+            }
+        }
+        return best;
+    }
+
+    public Schedule getBestSchedule() {
+        return bestSchedule;
+    }
+
+    public int getMigrationCount() {
+        return migrationCount;
+    }
+
+    public ACO[] getIslands() {
+        return islands.clone();
+    }
+}
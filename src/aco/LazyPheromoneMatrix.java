@@ -0,0 +1,201 @@
+package aco;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * LazyPheromoneMatrix類別：延遲蒸發的資訊素矩陣
+ * 每一格的值表示為 τ = clamp(stored × scale + offset, readMin, readMax)：
+ * 蒸發只乘上全域的 scale 與 offset，上下限在讀取時才套用，因此每一代的更新成本只與存放的格數成正比，而不是 V × P。
+ *
+ * 存放時先把該格提升到蒸發前的下限、加上補償後的存放量（除以 scale），再壓到上限，
+ * 結果與 PheromoneMatrix 在數學上相同（浮點數捨入可能不同）。
+ * 不支援平滑化：平滑化需要套用上下限後的平均值，而哪些格被下限截斷會隨 scale 改變，無法在存放時維護，
+ * 因此 update 的 smoothingFactor 必須為 0（ACO.setLazyEvaporation 會拒絕平滑係數大於 0 的設定）。
+ * 每 renormalizationInterval 代（或 scale 過小時）把實際值寫回 stored 並重設 scale / offset。
+ */
+public final class LazyPheromoneMatrix implements PheromoneStore {
+    private static final int DEFAULT_RENORMALIZATION_INTERVAL = 50;
+    private static final double MIN_SCALE = 1e-100; // 避免 1/scale 溢位
+
+    private final int taskCount;
+    private final int processorCount;
+    private final double[] stored;
+    private final int renormalizationInterval;
+    private double scale = 1.0;
+    private double offset = 0.0;
+    private double readMin = Double.NEGATIVE_INFINITY; // 讀取時的上下限（最近一次更新的 tau_min / tau_max）
+    private double readMax = Double.POSITIVE_INFINITY;
+    private int updatesSinceRenormalization;
+
+    public LazyPheromoneMatrix(int taskCount, int processorCount) {
+        this(taskCount, processorCount, DEFAULT_RENORMALIZATION_INTERVAL);
+    }
+
+    /**
+     * @param renormalizationInterval 每隔幾代把實際值寫回並重設縮放係數
+     */
+    public LazyPheromoneMatrix(int taskCount, int processorCount, int renormalizationInterval) {
+        if (renormalizationInterval < 1) {
+            throw new IllegalArgumentException("Renormalization interval must be at least 1: " + renormalizationInterval);
+        }
+        this.taskCount = taskCount;
+        this.processorCount = processorCount;
+        this.stored = new double[taskCount * processorCount];
+        this.renormalizationInterval = renormalizationInterval;
+    }
+
+    @Override
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    @Override
+    public int getProcessorCount() {
+        return processorCount;
+    }
+
+    @Override
+    public double get(int taskId, int processorId) {
+        return effective(stored[taskId * processorCount + processorId]);
+    }
+
+    @Override
+    public void set(int taskId, int processorId, double value) {
+        int cell = taskId * processorCount + processorId;
+        stored[cell] = (value - offset) / scale;
+    }
+
+    @Override
+    public void fill(double value) {
+        Arrays.fill(stored, value);
+        scale = 1.0;
+        offset = 0.0;
+        updatesSinceRenormalization = 0;
+    }
+
+    /**
+     * **PERFORMANCE**: 蒸發為 O(1)，存放為每個解每個任務 O(1)
+     * @throws IllegalArgumentException smoothingFactor 大於 0 時（不支援平滑化）
+     */
+    @Override
+    public void update(double evaporationFactor, int[][] assignments, double[] contributions, int depositCount,
+                       double tauMin, double tauMax, double smoothingFactor) {
+        if (smoothingFactor > 0) {
+            throw new IllegalArgumentException("Lazy evaporation does not support pheromone smoothing: " + smoothingFactor);
+        }
+        // 蒸發前的下限（以目前的 scale / offset 表示）
+        double floorScale = scale;
+        double floorOffset = offset;
+        double floor = readMin;
+
+        scale *= evaporationFactor;
+        offset *= evaporationFactor;
+        readMin = tauMin;
+        readMax = tauMax;
+
+        double[] stored = this.stored;
+        for (int k = 0; k < depositCount; k++) {
+            int[] assignment = assignments[k];
+            double compensated = contributions[k] / scale;
+            for (int i = 0; i < taskCount; i++) {
+                int processorId = assignment[i];
+                if (processorId == -1) {
+                    continue;
+                }
+                int cell = i * processorCount + processorId;
+                double value = stored[cell];
+                // 蒸發前低於下限的格先視為下限（與每一代都套用上下限的結果相同）
+                if (value * floorScale + floorOffset < floor) {
+                    value = (floor - floorOffset) / floorScale;
+                }
+                value += compensated;
+                if (value * scale + offset > tauMax) {
+                    value = (tauMax - offset) / scale;
+                }
+                stored[cell] = value;
+            }
+        }
+
+        if (++updatesSinceRenormalization >= renormalizationInterval || scale < MIN_SCALE) {
+            renormalize();
+        }
+    }
+
+    /**
+     * 把實際值（含上下限）寫回 stored，scale 重設為 1、offset 為 0
+     */
+    public void renormalize() {
+        double[] stored = this.stored;
+        for (int cell = 0; cell < stored.length; cell++) {
+            stored[cell] = effective(stored[cell]);
+        }
+        scale = 1.0;
+        offset = 0.0;
+        updatesSinceRenormalization = 0;
+    }
+
+    @Override
+    public double[] values(double[] buffer) {
+        if (buffer == null) {
+            buffer = new double[stored.length];
+        }
+        for (int cell = 0; cell < stored.length; cell++) {
+            buffer[cell] = effective(stored[cell]);
+        }
+        return buffer;
+    }
+
+    /**
+     * **PERFORMANCE**: scale / offset / 上下限在 τ^α 的同一次掃描中套用，不需要先寫出 values
+     */
+    @Override
+    public double[] weightedValues(DesirabilityEngine engine, double[] target) {
+        return engine.weightPheromones(stored, scale, offset, readMin, readMax, target);
+    }
+
+    /**
+     * 存放值與 scale / offset / 上下限 / 重新正規化計數都寫出，讀回後的結果與不中斷時完全相同
+     */
+    @Override
+    public void writeState(DataOutputStream out) throws IOException {
+        out.writeInt(stored.length);
+        for (double value : stored) {
+            out.writeDouble(value);
+        }
+        out.writeDouble(scale);
+        out.writeDouble(offset);
+        out.writeDouble(readMin);
+        out.writeDouble(readMax);
+        out.writeInt(updatesSinceRenormalization);
+    }
+
+    @Override
+    public void readState(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length != stored.length) {
+            throw new IOException("Pheromone matrix size mismatch: " + length + " != " + stored.length);
+        }
+        for (int cell = 0; cell < length; cell++) {
+            stored[cell] = in.readDouble();
+        }
+        scale = in.readDouble();
+        offset = in.readDouble();
+        readMin = in.readDouble();
+        readMax = in.readDouble();
+        updatesSinceRenormalization = in.readInt();
+    }
+
+    private double effective(double storedValue) {
+        double value = storedValue * scale + offset;
+        if (value > readMax) {
+            return readMax;
+        }
+        if (value < readMin) {
+            return readMin;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,140 @@
+package aco;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * PheromoneMatrix類別：以一維陣列 (row-major) 儲存的資訊素矩陣，values[task * P + processor]
+ * 整個矩陣是一塊連續記憶體，每一代的 MMAS 更新只需兩次循序掃描：
+ * 一次融合的 蒸發 + 該列的存放 + 上下限 + 總和，以及一次平滑化（需要上下限之後的全域平均值）。
+ */
+public final class PheromoneMatrix implements PheromoneStore {
+    private final int taskCount;
+    private final int processorCount;
+    private final double[] values;
+
+    public PheromoneMatrix(int taskCount, int processorCount) {
+        this.taskCount = taskCount;
+        this.processorCount = processorCount;
+        this.values = new double[taskCount * processorCount];
+    }
+
+    /**
+     * 以二維陣列 [task][processor] 的內容建立（複製）
+     */
+    public static PheromoneMatrix copyOf(double[][] rows) {
+        int processorCount = (rows.length > 0) ? rows[0].length : 0;
+        PheromoneMatrix matrix = new PheromoneMatrix(rows.length, processorCount);
+        for (int i = 0; i < rows.length; i++) {
+            System.arraycopy(rows[i], 0, matrix.values, i * processorCount, processorCount);
+        }
+        return matrix;
+    }
+
+    @Override
+    public double get(int taskId, int processorId) {
+        return values[taskId * processorCount + processorId];
+    }
+
+    @Override
+    public void set(int taskId, int processorId, double value) {
+        values[taskId * processorCount + processorId] = value;
+    }
+
+    @Override
+    public void fill(double value) {
+        Arrays.fill(values, value);
+    }
+
+    /**
+     * **PERFORMANCE**: 內部陣列本身，values[task * getProcessorCount() + processor]
+     */
+    public double[] getValues() {
+        return values;
+    }
+
+    @Override
+    public double[] values(double[] buffer) {
+        return values;
+    }
+
+    @Override
+    public double[] weightedValues(DesirabilityEngine engine, double[] target) {
+        return engine.weightPheromones(values, target);
+    }
+
+    @Override
+    public void writeState(DataOutputStream out) throws IOException {
+        out.writeInt(values.length);
+        for (double value : values) {
+            out.writeDouble(value);
+        }
+    }
+
+    @Override
+    public void readState(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length != values.length) {
+            throw new IOException("Pheromone matrix size mismatch: " + length + " != " + values.length);
+        }
+        for (int cell = 0; cell < length; cell++) {
+            values[cell] = in.readDouble();
+        }
+    }
+
+    @Override
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    @Override
+    public int getProcessorCount() {
+        return processorCount;
+    }
+
+    /**
+     * **PERFORMANCE**: 一代的資訊素更新，結果與依序執行 蒸發 → 各解依序存放 → 上下限 → 平滑化 完全相同。
+     * 每一列蒸發後立即加上該任務的存放量（每個解只影響該列的一格）再套用上下限，
+     * 列仍在快取中時一併累加總和；平滑化需要全域平均值，因此是第二次掃描。
+     */
+    @Override
+    public void update(double evaporationFactor, int[][] assignments, double[] contributions, int depositCount,
+                       double tauMin, double tauMax, double smoothingFactor) {
+        double[] values = this.values;
+        double totalPheromone = 0;
+        for (int i = 0; i < taskCount; i++) {
+            int rowStart = i * processorCount;
+            int rowEnd = rowStart + processorCount;
+            for (int cell = rowStart; cell < rowEnd; cell++) {
+                values[cell] *= evaporationFactor;
+            }
+            for (int k = 0; k < depositCount; k++) {
+                int processorId = assignments[k][i];
+                if (processorId != -1) {
+                    values[rowStart + processorId] += contributions[k];
+                }
+            }
+            for (int cell = rowStart; cell < rowEnd; cell++) {
+                double value = values[cell];
+                if (value > tauMax) {
+                    value = tauMax;
+                } else if (value < tauMin) {
+                    value = tauMin;
+                }
+                values[cell] = value;
+                totalPheromone += value;
+            }
+        }
+
+        if (smoothingFactor > 0) {
+            double avgPheromone = totalPheromone / ((double) taskCount * processorCount);
+            double keep = 1.0 - smoothingFactor;
+            double shift = smoothingFactor * avgPheromone;
+            for (int cell = 0; cell < values.length; cell++) {
+                values[cell] = keep * values[cell] + shift;
+            }
+        }
+    }
+}
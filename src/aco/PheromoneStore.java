@@ -0,0 +1,63 @@
+package aco;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * PheromoneStore介面：資訊素矩陣的儲存方式 [task][processor]
+ * PheromoneMatrix 每一代以循序掃描更新整個矩陣；LazyPheromoneMatrix 以全域縮放係數延遲蒸發，
+ * 每一代的更新成本只與存放的格數有關。
+ */
+public interface PheromoneStore {
+    int getTaskCount();
+
+    int getProcessorCount();
+
+    /**
+     * 目前的資訊素值（已套用上下限）
+     */
+    double get(int taskId, int processorId);
+
+    void set(int taskId, int processorId, double value);
+
+    /**
+     * 把所有格設為 value
+     */
+    void fill(double value);
+
+    /**
+     * 一代的 MMAS 更新：蒸發 → 各解依序存放 → 上下限 → 平滑化
+     * @param evaporationFactor 1 - 蒸發率
+     * @param assignments 存放的來源：assignments[k][task] 為第 k 個解的處理器（-1 表示不存放）
+     * @param contributions 第 k 個解在每一格存放的量
+     * @param depositCount 使用 assignments / contributions 的前幾個
+     * @param smoothingFactor 平滑化係數；不大於 0 時不平滑
+     */
+    void update(double evaporationFactor, int[][] assignments, double[] contributions, int depositCount,
+                double tauMin, double tauMax, double smoothingFactor);
+
+    /**
+     * **PERFORMANCE**: 目前所有的資訊素值，一維陣列 values[task * P + processor]（呼叫端不可修改）
+     * @param buffer 需要另外寫出時使用的陣列（長度 taskCount × processorCount）；直接以一維陣列儲存的實作會忽略它
+     * @return 內部陣列或填好的 buffer
+     */
+    double[] values(double[] buffer);
+
+    /**
+     * **PERFORMANCE**: 所有資訊素值的 τ^α（每一代一次，供螞蟻共用），與 engine.weightPheromones(values(...), target) 相同，
+     * 但延遲蒸發的實作在同一次掃描中還原實際值，不另外寫出矩陣
+     * @param target 存放結果的陣列；α 為 1 且直接以一維陣列儲存的實作會回傳內部陣列
+     */
+    double[] weightedValues(DesirabilityEngine engine, double[] target);
+
+    /**
+     * **NEW**: 寫出完整的內部狀態（檢查點），readState 之後的更新與寫出時完全相同
+     */
+    void writeState(DataOutputStream out) throws IOException;
+
+    /**
+     * **NEW**: 讀回 writeState 寫出的狀態（矩陣大小必須相同）
+     */
+    void readState(DataInputStream in) throws IOException;
+}
@@ -0,0 +1,16 @@
+package aco;
+
+import core.Schedule;
+
+/**
+ * ProgressListener介面：ACO 每完成一代時的回呼（在執行 run() 的執行緒上呼叫）
+ */
+@FunctionalInterface
+public interface ProgressListener {
+    /**
+     * @param generation 已完成的代數（從 1 開始）
+     * @param iterationBestMakespan 這一代螞蟻的最佳 makespan（局部搜尋前）
+     * @param bestSchedule 目前的全域最佳排程（呼叫端不可修改）
+     */
+    void onGeneration(int generation, double iterationBestMakespan, Schedule bestSchedule);
+}
@@ -0,0 +1,91 @@
+package aco;
+
+import java.util.Arrays;
+
+/**
+ * ReadySet類別：螞蟻建構解時的可執行任務集合
+ * 以緊密的 int 陣列存放任務，並以 position 索引記錄每個任務所在的槽位：
+ * 加入與移除（與最後一個元素交換）皆為 O(1)，走訪時直接掃描連續的陣列。
+ *
+ * 移除會改變其餘任務的槽位順序；槽位 i 上的任務以 get(i) 取得。
+ */
+public final class ReadySet {
+    private int[] tasks;
+    private int[] position; // position[task] = 任務所在槽位，-1 表示不在集合中
+    private int size;
+
+    public ReadySet(int taskCount) {
+        this.tasks = new int[taskCount];
+        this.position = new int[taskCount];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * 清空集合，並確保可容納 taskCount 個任務
+     */
+    public void reset(int taskCount) {
+        if (position.length < taskCount) {
+            tasks = new int[taskCount];
+            position = new int[taskCount];
+            Arrays.fill(position, -1);
+        } else {
+            for (int i = 0; i < size; i++) {
+                position[tasks[i]] = -1;
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * 加入任務（放在最後一個槽位）
+     */
+    public void add(int taskId) {
+        if (position[taskId] != -1) {
+            throw new IllegalStateException("Task " + taskId + " is already ready");
+        }
+        position[taskId] = size;
+        tasks[size++] = taskId;
+    }
+
+    /**
+     * 移除任務：最後一個任務移入被移除任務的槽位
+     * @return 被移除任務原本的槽位（現在放的是原本最後一個任務；若移除的就是最後一個則等於新的 size）
+     */
+    public int remove(int taskId) {
+        int slot = position[taskId];
+        if (slot == -1) {
+            throw new IllegalStateException("Task " + taskId + " is not ready");
+        }
+        int last = tasks[--size];
+        tasks[slot] = last;
+        position[last] = slot;
+        position[taskId] = -1;
+        return slot;
+    }
+
+    /**
+     * 任務所在的槽位，-1 表示不在集合中
+     */
+    public int slotOf(int taskId) {
+        return position[taskId];
+    }
+
+    public boolean contains(int taskId) {
+        return position[taskId] != -1;
+    }
+
+    /**
+     * 槽位 slot 上的任務
+     */
+    public int get(int slot) {
+        return tasks[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
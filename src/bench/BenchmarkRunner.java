@@ -0,0 +1,133 @@
+package bench;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * BenchmarkRunner類別：輕量的微基準測試框架
+ * 仿照 JMH 的平均時間模式：每個基準先執行數輪暖機 (warmup)，再執行數輪量測，
+ * 每輪在固定時間內反覆呼叫受測操作，回報 ns/op 的平均值、標準差與每次操作配置的位元組數。
+ * 受測操作的回傳值會被吸收 (blackhole)，避免 JIT 把整個呼叫消除。
+ */
+public class BenchmarkRunner {
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final List<Result> results = new ArrayList<>();
+
+    // Blackhole：所有回傳值都混入此欄位
+    private static volatile int sink;
+
+    /**
+     * 單一基準的量測結果
+     */
+    public static class Result {
+        final String benchmark;
+        final String parameter;
+        final int count;
+        final double meanNanos;
+        final double stdDevNanos;
+        final double bytesPerOp;
+
+        Result(String benchmark, String parameter, int count, double meanNanos, double stdDevNanos, double bytesPerOp) {
+            this.benchmark = benchmark;
+            this.parameter = parameter;
+            this.count = count;
+            this.meanNanos = meanNanos;
+            this.stdDevNanos = stdDevNanos;
+            this.bytesPerOp = bytesPerOp;
+        }
+    }
+
+    public BenchmarkRunner(int warmupIterations, int measurementIterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+    }
+
+    /**
+     * 量測一個操作
+     * @param benchmark 基準名稱
+     * @param parameter 參數說明（例如 DAG 檔名）
+     * @param operation 受測操作，每次呼叫即為一個 op
+     */
+    public Result measure(String benchmark, String parameter, Callable<?> operation) throws Exception {
+        System.out.printf("# %s (%s)%n", benchmark, parameter);
+        for (int i = 0; i < warmupIterations; i++) {
+            double nanosPerOp = runIteration(operation)[0];
+            System.out.printf("  Warmup %d: %s%n", i + 1, formatNanos(nanosPerOp));
+        }
+
+        double[] samples = new double[measurementIterations];
+        double totalBytesPerOp = 0;
+        for (int i = 0; i < measurementIterations; i++) {
+            double[] iteration = runIteration(operation);
+            samples[i] = iteration[0];
+            totalBytesPerOp += iteration[1];
+            System.out.printf("  Iteration %d: %s%n", i + 1, formatNanos(samples[i]));
+        }
+
+        double mean = 0;
+        for (double sample : samples) mean += sample;
+        mean /= samples.length;
+        double variance = 0;
+        for (double sample : samples) variance += (sample - mean) * (sample - mean);
+        double stdDev = (samples.length > 1) ? Math.sqrt(variance / (samples.length - 1)) : 0.0;
+
+        Result result = new Result(benchmark, parameter, samples.length, mean, stdDev, totalBytesPerOp / samples.length);
+        results.add(result);
+        return result;
+    }
+
+    /**
+     * 執行一輪量測
+     * @return {ns/op, bytes/op}
+     */
+    private double[] runIteration(Callable<?> operation) throws Exception {
+        long threadId = Thread.currentThread().getId();
+        long startBytes = allocatedBytes(threadId);
+        long start = System.nanoTime();
+        long deadline = start + iterationNanos;
+        long ops = 0;
+        long now;
+        do {
+            consume(operation.call());
+            ops++;
+            now = System.nanoTime();
+        } while (now < deadline);
+        long bytes = allocatedBytes(threadId) - startBytes;
+        return new double[] { (double) (now - start) / ops, (bytes < 0) ? Double.NaN : (double) bytes / ops };
+    }
+
+    private static void consume(Object value) {
+        sink ^= System.identityHashCode(value);
+    }
+
+    private static long allocatedBytes(long threadId) {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(threadId);
+        }
+        return -1;
+    }
+
+    private static String formatNanos(double nanos) {
+        return String.format("%.3f us/op", nanos / 1000.0);
+    }
+
+    /**
+     * 以類似 JMH 的表格輸出所有結果
+     */
+    public void printSummary() {
+        System.out.println();
+        // 每一欄標示單位：Score 與 Error 為 us/op，配置量為 B/op
+        System.out.printf("%-40s %-22s %4s %14s %12s %14s%n", "Benchmark", "(dag)", "Cnt", "Score us/op", "Error us/op", "Alloc B/op");
+        for (Result r : results) {
+            System.out.printf("%-40s %-22s %4d %14.3f %12.3f %14.1f%n",
+                r.benchmark, r.parameter, r.count, r.meanNanos / 1000.0, r.stdDevNanos / 1000.0, r.bytesPerOp);
+        }
+    }
+}
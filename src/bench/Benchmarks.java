@@ -0,0 +1,258 @@
+package bench;
+
+import aco.ACO;
+import aco.Ant;
+import aco.AntSolution;
+import aco.DesirabilityEngine;
+import aco.PheromoneMatrix;
+import core.DAG;
+import core.Heuristics;
+import core.ProcessorCandidates;
+import core.Schedule;
+import core.SchedulingPolicy;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+
+/**
+ * Benchmarks類別：排程熱路徑的基準測試套件
+ * 涵蓋 DAG.loadFromFile、Schedule.evaluateFitness、Schedule.criticalPathLocalSearch、
+ * Ant.constructSolution、ACO.updatePheromones、HEFT 與 PEFT，
+ * 參數化於內附的 n4_*.dag 檔案與 DagGenerator 以固定種子產生的大型合成 DAG。
+ *
+ * 用法: java -cp bin bench.Benchmarks [-wi 暖機輪數] [-i 量測輪數] [-t 每輪毫秒]
+ *                                     [-sizes 1000,5000] [-shapes layered,montage] [-procs 合成 DAG 處理器數]
+ *                                     [-candidates 每個任務的候選處理器數] [-filter 名稱子字串]
+ * 指定 -candidates 時另外量測候選列表模式的 Ant.constructSolution 與 HEFT。
+ */
+public class Benchmarks {
+    private static final String[] BUNDLED_DAGS = {"n4_00.dag", "n4_02.dag", "n4_04.dag", "n4_06.dag"};
+    private static final int DEFAULT_SYNTHETIC_PROCESSORS = 8;
+    private static final long SYNTHETIC_SEED = 2024;
+    private static final double SYNTHETIC_CCR = 1.0;
+    private static final double SYNTHETIC_HETEROGENEITY = 0.5;
+
+    // 與 Main 相同的 ACO 參數
+    private static final int NUM_ANTS = 55;
+    private static final double ALPHA = 1.0;
+    private static final double BETA = 2.0;
+    private static final double EVAPORATION_RATE = 0.3;
+    private static final double PHEROMONE_SMOOTHING_FACTOR = 0.05;
+    private static final double EXPLOITATION_FACTOR_Q0 = 0.8;
+    private static final int NUM_RANKED_ANTS = 6;
+    private static final double ELITIST_WEIGHT = 6.0;
+
+    public static void main(String[] args) throws Exception {
+        int warmup = 3;
+        int iterations = 5;
+        long iterationMillis = 1000;
+        String sizes = "1000,5000";
+        String shapes = "layered";
+        int processors = DEFAULT_SYNTHETIC_PROCESSORS;
+        int candidatesPerTask = 0;
+        String filter = "";
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "-wi": warmup = Integer.parseInt(args[i + 1]); break;
+                case "-i": iterations = Integer.parseInt(args[i + 1]); break;
+                case "-t": iterationMillis = Long.parseLong(args[i + 1]); break;
+                case "-sizes": sizes = args[i + 1]; break;
+                case "-shapes": shapes = args[i + 1]; break;
+                case "-procs": processors = Integer.parseInt(args[i + 1]); break;
+                case "-candidates": candidatesPerTask = Integer.parseInt(args[i + 1]); break;
+                case "-filter": filter = args[i + 1]; break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        List<String> dagFiles = new ArrayList<>();
+        List<String> labels = new ArrayList<>();
+        for (String file : BUNDLED_DAGS) {
+            if (new File(file).exists()) {
+                dagFiles.add(file);
+                labels.add(file);
+            }
+        }
+        for (String shapeName : shapes.split(",")) {
+            if (shapeName.isEmpty()) continue;
+            DagGenerator.Shape shape = DagGenerator.parseShape(shapeName.trim());
+            String label = shape.name().toLowerCase(Locale.ROOT).replace('_', '-');
+            for (String size : sizes.split(",")) {
+                if (size.isEmpty()) continue;
+                int taskCount = Integer.parseInt(size.trim());
+                File file = File.createTempFile(label + "_" + taskCount + "_", ".dag");
+                file.deleteOnExit();
+                new DagGenerator(shape, taskCount, processors, SYNTHETIC_CCR, SYNTHETIC_HETEROGENEITY, SYNTHETIC_SEED)
+                    .writeText(file.getPath());
+                dagFiles.add(file.getPath());
+                labels.add(label + "-" + taskCount);
+            }
+        }
+
+        BenchmarkRunner runner = new BenchmarkRunner(warmup, iterations, iterationMillis);
+        for (int i = 0; i < dagFiles.size(); i++) {
+            runAll(runner, dagFiles.get(i), labels.get(i), candidatesPerTask, filter);
+        }
+        runner.printSummary();
+    }
+
+    private static void runAll(BenchmarkRunner runner, String dagFile, String label, int candidatesPerTask, String filter) throws Exception {
+        DAG dag = load(dagFile);
+        int taskCount = dag.getTaskCount();
+        int processorCount = dag.getProcessorCount();
+        double[] upwardRanks = Heuristics.calculateUpwardRanks(dag);
+
+        // 固定的隨機排程，作為評估與局部搜尋的輸入
+        SplittableRandom random = new SplittableRandom(SYNTHETIC_SEED);
+        int[] assignment = new int[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            assignment[i] = random.nextInt(processorCount);
+        }
+        Schedule randomSchedule = new Schedule(dag, assignment, dag.getTopologicalOrderArray());
+
+        PheromoneMatrix pheromones = new PheromoneMatrix(taskCount, processorCount);
+        pheromones.fill(1.0);
+
+        if (matches("DAG.loadFromFile", filter)) {
+            runner.measure("DAG.loadFromFile", label, () -> load(dagFile));
+        }
+        if (matches("Schedule.evaluateFitness", filter)) {
+            runner.measure("Schedule.evaluateFitness", label, () -> {
+                randomSchedule.setSchedulingPolicy(SchedulingPolicy.APPEND); // 清除已評估標記（不配置記憶體）
+                return randomSchedule.evaluateFitness();
+            });
+        }
+        if (matches("Schedule.evaluateFitness[insertion]", filter)) {
+            Schedule insertionSchedule = new Schedule(randomSchedule);
+            insertionSchedule.setSchedulingPolicy(SchedulingPolicy.INSERTION);
+            runner.measure("Schedule.evaluateFitness[insertion]", label, () -> {
+                insertionSchedule.setSchedulingPolicy(SchedulingPolicy.INSERTION); // 清除已評估標記（不配置記憶體）
+                return insertionSchedule.evaluateFitness();
+            });
+        }
+        if (matches("Schedule.criticalPathLocalSearch", filter)) {
+            // 與 ACO 相同，局部搜尋從高品質解開始（此處使用 HEFT 排程）
+            Schedule heft = Heuristics.createHeftSchedule(dag);
+            int[] heftAssignment = heft.getChromosome();
+            int[] heftOrder = heft.getTaskOrderArray();
+            runner.measure("Schedule.criticalPathLocalSearch", label, () -> {
+                Schedule copy = new Schedule(dag, heftAssignment, heftOrder);
+                copy.criticalPathLocalSearch();
+                return copy;
+            });
+        }
+        // 與 ACO 相同：τ^α 預先計算，螞蟻工作區與解槽位重複使用
+        DesirabilityEngine engine = DesirabilityEngine.of(ALPHA, BETA);
+        double[] pheromoneWeights = engine.weightPheromones(pheromones.getValues(), null);
+        Ant workspace = new Ant();
+        if (matches("Ant.constructSolution", filter)) {
+            SplittableRandom antRandom = new SplittableRandom(SYNTHETIC_SEED);
+            AntSolution solution = new AntSolution(taskCount);
+            runner.measure("Ant.constructSolution", label, () -> {
+                workspace.constructSolution(dag, pheromoneWeights, engine, EXPLOITATION_FACTOR_Q0, upwardRanks,
+                                            null, antRandom.split(), solution);
+                return solution;
+            });
+        }
+        ProcessorCandidates candidates = (candidatesPerTask > 0 && candidatesPerTask < processorCount)
+                ? ProcessorCandidates.build(dag, candidatesPerTask, pheromones.getValues()) : null;
+        String candidateSuffix = "[k=" + candidatesPerTask + "]";
+        if (candidates != null && matches("Ant.constructSolution" + candidateSuffix, filter)) {
+            SplittableRandom antRandom = new SplittableRandom(SYNTHETIC_SEED);
+            AntSolution solution = new AntSolution(taskCount);
+            runner.measure("Ant.constructSolution" + candidateSuffix, label, () -> {
+                workspace.constructSolution(dag, pheromoneWeights, engine, EXPLOITATION_FACTOR_Q0, upwardRanks,
+                                            candidates, antRandom.split(), solution);
+                return solution;
+            });
+        }
+        boolean eagerUpdate = matches("ACO.updatePheromones", filter);
+        boolean lazyUpdate = matches("ACO.updatePheromones[lazy]", filter);
+        if (eagerUpdate || lazyUpdate) {
+            SplittableRandom antRandom = new SplittableRandom(SYNTHETIC_SEED);
+            AntSolution[] solutions = new AntSolution[NUM_ANTS];
+            for (int i = 0; i < NUM_ANTS; i++) {
+                solutions[i] = new AntSolution(taskCount);
+                workspace.constructSolution(dag, pheromoneWeights, engine, EXPLOITATION_FACTOR_Q0, upwardRanks,
+                                            null, antRandom.split(), solutions[i]);
+                solutions[i].evaluate(dag);
+            }
+            Arrays.sort(solutions, Comparator.comparingDouble(AntSolution::getMakespan));
+            Schedule globalBest = solutions[0].toSchedule(dag);
+            if (eagerUpdate) {
+                ACO aco = initializedColony(dagFile, false);
+                runner.measure("ACO.updatePheromones", label, () -> {
+                    aco.updatePheromones(solutions, globalBest, ELITIST_WEIGHT);
+                    return aco;
+                });
+            }
+            if (lazyUpdate) {
+                ACO aco = initializedColony(dagFile, true);
+                runner.measure("ACO.updatePheromones[lazy]", label, () -> {
+                    aco.updatePheromones(solutions, globalBest, ELITIST_WEIGHT);
+                    return aco;
+                });
+            }
+        }
+        if (matches("Heuristics.createHeftSchedule", filter)) {
+            runner.measure("Heuristics.createHeftSchedule", label, () -> Heuristics.createHeftSchedule(dag));
+        }
+        if (candidates != null && matches("Heuristics.createHeftSchedule" + candidateSuffix, filter)) {
+            runner.measure("Heuristics.createHeftSchedule" + candidateSuffix, label,
+                           () -> Heuristics.createHeftSchedule(dag, candidates));
+        }
+        if (matches("Heuristics.createHeftSchedule[insertion]", filter)) {
+            runner.measure("Heuristics.createHeftSchedule[insertion]", label,
+                           () -> Heuristics.createHeftSchedule(dag, SchedulingPolicy.INSERTION));
+        }
+        if (matches("Heuristics.createPeftSchedule", filter)) {
+            runner.measure("Heuristics.createPeftSchedule", label, () -> {
+                dag.setOctCache(null); // 每次都從頭計算 OCT
+                return Heuristics.createPeftSchedule(dag);
+            });
+        }
+    }
+
+    // 只執行 initialize 的 ACO（不輸出初始化訊息）；延遲蒸發不支援平滑化，因此以平滑係數 0 建立
+    private static ACO initializedColony(String dagFile, boolean lazyEvaporation) throws Exception {
+        double smoothingFactor = lazyEvaporation ? 0.0 : PHEROMONE_SMOOTHING_FACTOR;
+        return quietly(() -> {
+            ACO colony = new ACO(NUM_ANTS, 1, ALPHA, BETA, EVAPORATION_RATE, EXPLOITATION_FACTOR_Q0,
+                                 ELITIST_WEIGHT, NUM_RANKED_ANTS, smoothingFactor, dagFile);
+            colony.setLazyEvaporation(lazyEvaporation);
+            colony.initialize();
+            return colony;
+        });
+    }
+
+    private static boolean matches(String benchmark, String filter) {
+        return filter.isEmpty() || benchmark.contains(filter);
+    }
+
+    private static DAG load(String dagFile) throws IOException {
+        DAG dag = new DAG();
+        dag.loadFromFile(dagFile);
+        return dag;
+    }
+
+    /**
+     * 執行時暫時關閉標準輸出（ACO 初始化會印出參數）
+     */
+    private static <T> T quietly(Callable<T> action) throws Exception {
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            return action.call();
+        } finally {
+            System.setOut(original);
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package bench;
+
+import core.DAG;
+import core.DagBinaryFormat;
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * DagGenerator類別：產生擴展性測試用的大型合成 DAG
+ * 支援分層 (layered)、fork-join、隨機 Erdős 圖與仿真實工作流程 (Montage、CyberShake) 的結構，
+ * 任務數可到數百萬；可設定處理器數、通訊計算比 (CCR) 與處理器異質性，
+ * 輸出為既有的 .dag 文字格式或 DagBinaryFormat 二進位格式。
+ *
+ * 所有隨機性都來自單一種子，同樣的參數在任何機器上都產生同樣的檔案，基準數據可以互相比較。
+ * 任務 0 為入口、任務 V-1 為出口（計算成本皆為 0），與內附的 n4_*.dag 相同。
+ *
+ * 成本模型（參照 HEFT 論文的隨機圖產生器）：
+ * 任務的平均成本 w 取自 [0, 2 * MEAN_COMPUTATION_COST]，在處理器 p 上的成本為 w * U[1 - h/2, 1 + h/2]（h 為異質性），
+ * 邊的數據量平均為 CCR * MEAN_COMPUTATION_COST；處理器間通訊速率皆為 1.0。
+ *
+ * 用法: java -cp bin bench.DagGenerator -out 檔名 [-shape layered|forkjoin|erdos|montage|cybershake]
+ *                                       [-tasks 1000] [-procs 8] [-ccr 1.0] [-het 0.5]
+ *                                       [-seed 2024] [-format text|binary]
+ */
+public class DagGenerator {
+    private static final double MEAN_COMPUTATION_COST = 50.0;
+    private static final double AVERAGE_ERDOS_OUT_DEGREE = 3.0;
+
+    /**
+     * DAG 的結構種類
+     */
+    public enum Shape {
+        LAYERED,     // 分層：每個任務連到下一層的 1~3 個任務
+        FORK_JOIN,   // 一連串 fork -> 平行任務 -> join 的階段
+        ERDOS,       // 依任務編號定向的隨機圖，平均出度固定
+        MONTAGE,     // 天文影像拼接：投影 -> 重疊差異 -> 背景模型 -> 背景修正 -> 合併
+        CYBERSHAKE   // 地震危害：SGT 擷取 -> 地震圖合成 -> 峰值計算，最後兩個壓縮任務彙整
+    }
+
+    private final Shape shape;
+    private final int taskCount;
+    private final int processorCount;
+    private final double ccr;
+    private final double heterogeneity;
+    private final long seed;
+
+    // 產生結果
+    private int[] edgeFrom;
+    private int[] edgeTo;
+    private int[] edgeVolume;
+    private int edgeCount;
+    private double[] computationCosts; // [task * processorCount + p]
+
+    /**
+     * @param shape DAG 結構
+     * @param taskCount 任務數（含入口與出口）
+     * @param processorCount 處理器數
+     * @param ccr 通訊計算比 (communication-to-computation ratio)
+     * @param heterogeneity 處理器異質性，0 表示所有處理器成本相同，範圍 [0, 2)
+     * @param seed 隨機種子
+     */
+    public DagGenerator(Shape shape, int taskCount, int processorCount, double ccr, double heterogeneity, long seed) {
+        if (taskCount < 3) {
+            throw new IllegalArgumentException("Task count must be at least 3: " + taskCount);
+        }
+        if (processorCount < 1) {
+            throw new IllegalArgumentException("Processor count must be at least 1: " + processorCount);
+        }
+        if ((long) taskCount * processorCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many tasks x processors for one cost matrix: " + taskCount + " x " + processorCount);
+        }
+        if (ccr < 0 || heterogeneity < 0 || heterogeneity >= 2) {
+            throw new IllegalArgumentException("CCR must be >= 0 and heterogeneity in [0, 2): ccr=" + ccr + ", het=" + heterogeneity);
+        }
+        this.shape = shape;
+        this.taskCount = taskCount;
+        this.processorCount = processorCount;
+        this.ccr = ccr;
+        this.heterogeneity = heterogeneity;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Shape shape = Shape.LAYERED;
+        int tasks = 1000;
+        int processors = 8;
+        double ccr = 1.0;
+        double heterogeneity = 0.5;
+        long seed = 2024;
+        String format = "text";
+        String out = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "-shape": shape = parseShape(args[i + 1]); break;
+                case "-tasks": tasks = Integer.parseInt(args[i + 1]); break;
+                case "-procs": processors = Integer.parseInt(args[i + 1]); break;
+                case "-ccr": ccr = Double.parseDouble(args[i + 1]); break;
+                case "-het": heterogeneity = Double.parseDouble(args[i + 1]); break;
+                case "-seed": seed = Long.parseLong(args[i + 1]); break;
+                case "-format": format = args[i + 1]; break;
+                case "-out": out = args[i + 1]; break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("Missing -out <file>");
+        }
+
+        DagGenerator generator = new DagGenerator(shape, tasks, processors, ccr, heterogeneity, seed);
+        long start = System.nanoTime();
+        switch (format) {
+            case "text": generator.writeText(out); break;
+            case "binary": generator.writeBinary(out); break;
+            default: throw new IllegalArgumentException("Unknown format: " + format);
+        }
+        System.out.printf("Wrote %s DAG (%d tasks, %d edges, %d processors) to %s in %.2f s%n",
+                          shape.name().toLowerCase(Locale.ROOT), tasks, generator.edgeCount, processors, out,
+                          (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * 解析結構名稱（不分大小寫，可省略底線，例如 "forkjoin"）
+     */
+    public static Shape parseShape(String name) {
+        String normalized = name.replace("_", "").replace("-", "").toUpperCase(Locale.ROOT);
+        for (Shape shape : Shape.values()) {
+            if (shape.name().replace("_", "").equals(normalized)) {
+                return shape;
+            }
+        }
+        throw new IllegalArgumentException("Unknown shape: " + name);
+    }
+
+    /**
+     * 以 .dag 文字格式寫出
+     */
+    public void writeText(String filename) throws IOException {
+        generate();
+        try (Writer out = new BufferedWriter(new FileWriter(filename), 1 << 20)) {
+            out.write(processorCount + "\n" + taskCount + "\n" + edgeCount + "\n");
+            StringBuilder line = new StringBuilder();
+            for (int p = 0; p < processorCount; p++) {
+                line.setLength(0);
+                for (int q = 0; q < processorCount; q++) {
+                    line.append((p == q) ? "0.0 " : "1.0 ");
+                }
+                out.append(line).append('\n');
+            }
+            for (int t = 0; t < taskCount; t++) {
+                line.setLength(0);
+                for (int p = 0; p < processorCount; p++) {
+                    line.append(computationCosts[t * processorCount + p]).append(' ');
+                }
+                out.append(line).append('\n');
+            }
+            for (int e = 0; e < edgeCount; e++) {
+                line.setLength(0);
+                line.append(edgeFrom[e]).append(' ').append(edgeTo[e]).append(' ').append(edgeVolume[e]).append('\n');
+                out.append(line);
+            }
+        }
+    }
+
+    /**
+     * 以 DagBinaryFormat 二進位格式寫出（沒有來源文字檔，內容雜湊記為 0）
+     */
+    public void writeBinary(String filename) throws IOException {
+        DagBinaryFormat.write(toDag(), 0L, Path.of(filename));
+    }
+
+    /**
+     * 直接在記憶體中建立 DAG
+     */
+    public DAG toDag() {
+        generate();
+        double[][] communicationRates = new double[processorCount][processorCount];
+        for (int p = 0; p < processorCount; p++) {
+            for (int q = 0; q < processorCount; q++) {
+                communicationRates[p][q] = (p == q) ? 0.0 : 1.0;
+            }
+        }
+        return DAG.create(processorCount, taskCount, communicationRates, computationCosts,
+                          edgeFrom, edgeTo, edgeVolume, edgeCount);
+    }
+
+    /**
+     * 產生結構與成本（只執行一次；結構與成本使用各自的隨機串流，互不影響）
+     */
+    private void generate() {
+        if (computationCosts != null) {
+            return;
+        }
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom structureRandom = root.split();
+        SplittableRandom costRandom = root.split();
+
+        edgeFrom = new int[Math.max(16, taskCount * 2)];
+        edgeTo = new int[edgeFrom.length];
+        edgeVolume = new int[edgeFrom.length];
+        edgeCount = 0;
+        switch (shape) {
+            case LAYERED: generateLayered(structureRandom); break;
+            case FORK_JOIN: generateForkJoin(structureRandom); break;
+            case ERDOS: generateErdos(structureRandom); break;
+            case MONTAGE: generateMontage(structureRandom); break;
+            case CYBERSHAKE: generateCyberShake(structureRandom); break;
+            default: throw new IllegalStateException("Unhandled shape: " + shape);
+        }
+        connectEntryAndExit();
+        assignCosts(costRandom);
+    }
+
+    private void generateLayered(SplittableRandom random) {
+        int inner = taskCount - 2;
+        int width = Math.max(1, (int) Math.sqrt(inner));
+        boolean[] hasPredecessor = new boolean[taskCount];
+        for (int layerStart = 1; layerStart <= inner; layerStart += width) {
+            int nextStart = layerStart + width;
+            if (nextStart > inner) {
+                break; // 最後一層由 connectEntryAndExit 連到出口
+            }
+            int nextEnd = Math.min(inner, nextStart + width - 1);
+            int layerEnd = nextStart - 1;
+            for (int t = layerStart; t <= layerEnd; t++) {
+                int fanOut = Math.min(random.nextInt(1, 4), nextEnd - nextStart + 1);
+                int firstEdge = edgeCount;
+                while (edgeCount - firstEdge < fanOut) {
+                    int succ = random.nextInt(nextStart, nextEnd + 1);
+                    if (!hasEdgeSince(firstEdge, succ)) {
+                        addEdge(t, succ);
+                        hasPredecessor[succ] = true;
+                    }
+                }
+            }
+            // 下一層沒有前驅的任務從本層隨機挑一個前驅，保持分層結構
+            for (int t = nextStart; t <= nextEnd; t++) {
+                if (!hasPredecessor[t]) {
+                    addEdge(random.nextInt(layerStart, layerEnd + 1), t);
+                }
+            }
+        }
+    }
+
+    private void generateForkJoin(SplittableRandom random) {
+        int maxWidth = Math.max(2, (int) Math.sqrt(taskCount));
+        int last = taskCount - 2; // 最後一個內部任務
+        int join = 0;
+        int next = 1;
+        while (next <= last) {
+            int remaining = last - next + 1;
+            if (remaining < 3) {
+                // 剩下的任務串成一條鏈
+                addEdge(join, next);
+                join = next++;
+                continue;
+            }
+            int width = Math.min(remaining - 1, random.nextInt(Math.max(2, maxWidth / 2), maxWidth + 1));
+            int newJoin = next + width;
+            for (int t = next; t < newJoin; t++) {
+                addEdge(join, t);
+                addEdge(t, newJoin);
+            }
+            join = newJoin;
+            next = newJoin + 1;
+        }
+    }
+
+    private void generateErdos(SplittableRandom random) {
+        int last = taskCount - 2;
+        double limit = Math.exp(-AVERAGE_ERDOS_OUT_DEGREE);
+        for (int t = 1; t < last; t++) {
+            // 出度取自 Poisson 分佈 (Knuth)，後繼在編號較大的任務中均勻選取，確保無環
+            int degree = 0;
+            double product = random.nextDouble();
+            while (product > limit) {
+                degree++;
+                product *= random.nextDouble();
+            }
+            degree = Math.min(degree, last - t);
+            int firstEdge = edgeCount;
+            while (edgeCount - firstEdge < degree) {
+                int succ = random.nextInt(t + 1, last + 1);
+                if (!hasEdgeSince(firstEdge, succ)) {
+                    addEdge(t, succ);
+                }
+            }
+        }
+    }
+
+    private void generateMontage(SplittableRandom random) {
+        // 任務數 = 入口 + n 投影 + d 差異 + concatFit + bgModel + n 背景修正 + imgtbl + add + shrink + jpeg + 出口
+        int projections = (taskCount - 8) / 4;
+        if (projections < 2) {
+            throw new IllegalArgumentException("Montage needs at least 16 tasks: " + taskCount);
+        }
+        int diffs = taskCount - 8 - 2 * projections;
+        int firstProjection = 1;
+        int firstDiff = firstProjection + projections;
+        int concatFit = firstDiff + diffs;
+        int bgModel = concatFit + 1;
+        int firstBackground = bgModel + 1;
+        int imgtbl = firstBackground + projections;
+        int add = imgtbl + 1;
+        int shrink = add + 1;
+        int jpeg = shrink + 1;
+
+        for (int d = 0; d < diffs; d++) {
+            // 前 n-1 個差異對應相鄰影像，其餘為隨機的重疊影像對
+            int a;
+            int b;
+            if (d < projections - 1) {
+                a = d;
+                b = d + 1;
+            } else {
+                a = random.nextInt(projections - 1);
+                b = random.nextInt(a + 1, projections);
+            }
+            addEdge(firstProjection + a, firstDiff + d);
+            addEdge(firstProjection + b, firstDiff + d);
+            addEdge(firstDiff + d, concatFit);
+        }
+        addEdge(concatFit, bgModel);
+        for (int k = 0; k < projections; k++) {
+            addEdge(bgModel, firstBackground + k);
+            addEdge(firstProjection + k, firstBackground + k);
+            addEdge(firstBackground + k, imgtbl);
+        }
+        addEdge(imgtbl, add);
+        addEdge(add, shrink);
+        addEdge(shrink, jpeg);
+    }
+
+    private void generateCyberShake(SplittableRandom random) {
+        // 任務數 = 入口 + s 個 SGT 擷取 + S 個地震圖合成 + S 個峰值計算 + 兩個壓縮任務 + 出口
+        int extracts = Math.max(2, (int) Math.round((taskCount - 4) / 50.0));
+        int remaining = taskCount - 4 - extracts;
+        if ((remaining & 1) != 0) {
+            extracts++;
+            remaining--;
+        }
+        int syntheses = remaining / 2;
+        if (syntheses < 1) {
+            throw new IllegalArgumentException("CyberShake needs at least 9 tasks: " + taskCount);
+        }
+        int firstExtract = 1;
+        int firstSynthesis = firstExtract + extracts;
+        int firstPeak = firstSynthesis + syntheses;
+        int zipSeismograms = firstPeak + syntheses;
+        int zipPeaks = zipSeismograms + 1;
+
+        for (int k = 0; k < syntheses; k++) {
+            // 前 s 個合成任務各分給一個擷取任務，其餘隨機分配
+            int extract = (k < extracts) ? k : random.nextInt(extracts);
+            addEdge(firstExtract + extract, firstSynthesis + k);
+            addEdge(firstSynthesis + k, firstPeak + k);
+            addEdge(firstSynthesis + k, zipSeismograms);
+            addEdge(firstPeak + k, zipPeaks);
+        }
+    }
+
+    /**
+     * 沒有前驅的內部任務接到入口，沒有後繼的內部任務接到出口
+     */
+    private void connectEntryAndExit() {
+        int exit = taskCount - 1;
+        boolean[] hasPredecessor = new boolean[taskCount];
+        boolean[] hasSuccessor = new boolean[taskCount];
+        for (int e = 0; e < edgeCount; e++) {
+            hasSuccessor[edgeFrom[e]] = true;
+            hasPredecessor[edgeTo[e]] = true;
+        }
+        for (int t = 1; t < exit; t++) {
+            if (!hasPredecessor[t]) {
+                addEdge(0, t);
+            }
+        }
+        for (int t = 1; t < exit; t++) {
+            if (!hasSuccessor[t]) {
+                addEdge(t, exit);
+            }
+        }
+    }
+
+    private void assignCosts(SplittableRandom random) {
+        computationCosts = new double[taskCount * processorCount];
+        for (int t = 1; t < taskCount - 1; t++) {
+            double average = random.nextDouble(2 * MEAN_COMPUTATION_COST);
+            for (int p = 0; p < processorCount; p++) {
+                double factor = 1.0 + heterogeneity * (random.nextDouble() - 0.5);
+                // 取到小數一位，文字檔較短；最小為 0.1
+                computationCosts[t * processorCount + p] = Math.max(1, Math.round(average * factor * 10)) / 10.0;
+            }
+        }
+        int maxVolume = Math.max(1, (int) Math.round(2 * ccr * MEAN_COMPUTATION_COST));
+        for (int e = 0; e < edgeCount; e++) {
+            edgeVolume[e] = (ccr == 0) ? 0 : random.nextInt(1, maxVolume + 1);
+        }
+    }
+
+    // 從 firstEdge 起新增的邊中是否已有指向 to 的邊（只用於出度很小的迴圈）
+    private boolean hasEdgeSince(int firstEdge, int to) {
+        for (int e = firstEdge; e < edgeCount; e++) {
+            if (edgeTo[e] == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addEdge(int from, int to) {
+        if (edgeCount == edgeFrom.length) {
+            int capacity = edgeCount + (edgeCount >> 1);
+            edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+            edgeTo = Arrays.copyOf(edgeTo, capacity);
+            edgeVolume = Arrays.copyOf(edgeVolume, capacity);
+        }
+        edgeFrom[edgeCount] = from;
+        edgeTo[edgeCount] = to;
+        edgeCount++;
+    }
+
+    public int getEdgeCount() {
+        generate();
+        return edgeCount;
+    }
+}
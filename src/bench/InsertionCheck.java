@@ -0,0 +1,200 @@
+package bench;
+
+import core.CsrGraph;
+import core.DAG;
+import core.EvaluationContext;
+import core.ProcessorTimeline;
+import core.SchedulingPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * InsertionCheck類別：插入式排程 (SchedulingPolicy.INSERTION) 的隨機差分檢查
+ * 以 DagGenerator 產生的 DAG、隨機的處理器分配與隨機的拓撲順序，
+ * 比較 EvaluationContext（ProcessorTimeline 的空檔索引）與直接掃描忙碌區間的 O(n) 模擬：
+ * 每個任務的完成時間必須逐位元相同。另外以帶小數的時間直接比較 ProcessorTimeline.earliestStart。
+ * 空檔是否放得下一律以 start + duration <= 下一個忙碌區間的開始時間 判斷。
+ *
+ * 用法: java -cp bin bench.InsertionCheck [-schedules 200] [-seed 1]
+ * 發現差異時印出第一個不同的任務並以結束碼 1 結束。
+ */
+public class InsertionCheck {
+    private static final int TIMELINE_ROUNDS = 2000;
+    private static final int OPERATIONS_PER_ROUND = 60;
+
+    public static void main(String[] args) {
+        int schedules = 200;
+        long seed = 1;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-schedules": schedules = Integer.parseInt(args[++i]); break;
+                case "-seed": seed = Long.parseLong(args[++i]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        String failure = checkTimeline(random);
+        if (failure == null) {
+            failure = checkSchedules(random, schedules);
+        }
+        if (failure != null) {
+            System.out.println("FAILED: " + failure);
+            System.exit(1);
+        }
+        System.out.printf("InsertionCheck passed: %d timeline rounds, %d schedules\n", TIMELINE_ROUNDS, schedules);
+    }
+
+    // 直接比較 earliestStart；時間帶有小數，使 gapEnd - start 與 start + duration 的捨入方向可能不同
+    private static String checkTimeline(SplittableRandom random) {
+        ProcessorTimeline timeline = new ProcessorTimeline();
+        List<double[]> busy = new ArrayList<>();
+        for (int round = 0; round < TIMELINE_ROUNDS; round++) {
+            timeline.reset();
+            busy.clear();
+            for (int op = 0; op < OPERATIONS_PER_ROUND; op++) {
+                double ready = random.nextInt(20000) / 10.0 + 0.1 * random.nextInt(3);
+                double duration = (random.nextInt(4) == 0) ? 0.0 : random.nextInt(1, 400) / 10.0;
+                double expected = naiveEarliestStart(busy, ready, duration);
+                double actual = timeline.earliestStart(ready, duration);
+                if (actual != expected) {
+                    return String.format("timeline round %d op %d: ready=%s duration=%s expected start %s, got %s",
+                            round, op, ready, duration, expected, actual);
+                }
+                timeline.occupy(actual, duration, op);
+                if (duration > 0) {
+                    insertBusy(busy, actual, actual + duration);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String checkSchedules(SplittableRandom random, int schedules) {
+        DagGenerator.Shape[] shapes = DagGenerator.Shape.values();
+        int[] sizes = {40, 120, 400};
+        int[] processorCounts = {2, 4, 8};
+        double[] ccrs = {0.1, 1.0, 5.0};
+        EvaluationContext context = new EvaluationContext();
+        for (int s = 0; s < schedules; s++) {
+            DagGenerator.Shape shape = shapes[random.nextInt(shapes.length)];
+            int taskCount = sizes[random.nextInt(sizes.length)];
+            int processorCount = processorCounts[random.nextInt(processorCounts.length)];
+            double ccr = ccrs[random.nextInt(ccrs.length)];
+            long dagSeed = random.nextLong();
+            DAG dag = new DagGenerator(shape, taskCount, processorCount, ccr, 0.5, dagSeed).toDag();
+
+            int[] assignment = new int[dag.getTaskCount()];
+            for (int t = 0; t < assignment.length; t++) {
+                assignment[t] = random.nextInt(processorCount);
+            }
+            int[] order = randomTopologicalOrder(dag, random);
+
+            context.evaluate(dag, assignment, order, SchedulingPolicy.INSERTION);
+            double[] actual = context.getFinishTimes();
+            double[] expected = naiveInsertion(dag, assignment, order);
+            for (int t = 0; t < expected.length; t++) {
+                if (actual[t] != expected[t]) {
+                    return String.format("schedule %d (%s, %d tasks, %d processors, ccr %.1f, dag seed %d): task %d finishes at %s, expected %s",
+                            s, shape, taskCount, processorCount, ccr, dagSeed, t, actual[t], expected[t]);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 直接的插入式模擬：每個處理器保存依開始時間排序的忙碌區間，逐一掃描找第一個放得下的空檔
+     */
+    static double[] naiveInsertion(DAG dag, int[] assignment, int[] order) {
+        int taskCount = dag.getTaskCount();
+        CsrGraph graph = dag.getGraph();
+        int[] predOffsets = graph.getPredecessorOffsets();
+        int[] predSources = graph.getPredecessorSources();
+        int[] predEdgeIds = graph.getPredecessorEdgeIds();
+        List<List<double[]>> busy = new ArrayList<>();
+        for (int p = 0; p < dag.getProcessorCount(); p++) {
+            busy.add(new ArrayList<>());
+        }
+        double[] finish = new double[taskCount];
+        for (int taskId : order) {
+            int processorId = assignment[taskId];
+            double ready = 0.0;
+            for (int e = predOffsets[taskId]; e < predOffsets[taskId + 1]; e++) {
+                int predId = predSources[e];
+                double dataReadyTime = finish[predId] + dag.getEdgeCommunicationCost(predEdgeIds[e], assignment[predId], processorId);
+                if (dataReadyTime > ready) {
+                    ready = dataReadyTime;
+                }
+            }
+            double cost = dag.getComputationCost(taskId, processorId);
+            double start = naiveEarliestStart(busy.get(processorId), ready, cost);
+            finish[taskId] = start + cost;
+            if (cost > 0) {
+                insertBusy(busy.get(processorId), start, start + cost);
+            }
+        }
+        return finish;
+    }
+
+    private static double naiveEarliestStart(List<double[]> busy, double ready, double duration) {
+        if (duration <= 0) {
+            return ready;
+        }
+        double time = ready;
+        for (double[] interval : busy) {
+            if (interval[1] <= time) {
+                continue;
+            }
+            if (time + duration <= interval[0]) {
+                return time;
+            }
+            time = Math.max(time, interval[1]);
+        }
+        return time;
+    }
+
+    private static void insertBusy(List<double[]> busy, double start, double end) {
+        int i = 0;
+        while (i < busy.size() && busy.get(i)[0] < start) {
+            i++;
+        }
+        busy.add(i, new double[]{start, end});
+    }
+
+    // Kahn 演算法，每一步隨機選一個已就緒的任務
+    private static int[] randomTopologicalOrder(DAG dag, SplittableRandom random) {
+        int taskCount = dag.getTaskCount();
+        CsrGraph graph = dag.getGraph();
+        int[] predOffsets = graph.getPredecessorOffsets();
+        int[] succOffsets = graph.getSuccessorOffsets();
+        int[] succTargets = graph.getSuccessorTargets();
+        int[] remaining = new int[taskCount];
+        int[] ready = new int[taskCount];
+        int readyCount = 0;
+        for (int t = 0; t < taskCount; t++) {
+            remaining[t] = predOffsets[t + 1] - predOffsets[t];
+            if (remaining[t] == 0) {
+                ready[readyCount++] = t;
+            }
+        }
+        int[] order = new int[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            int pick = random.nextInt(readyCount);
+            int taskId = ready[pick];
+            ready[pick] = ready[--readyCount];
+            order[i] = taskId;
+            for (int e = succOffsets[taskId]; e < succOffsets[taskId + 1]; e++) {
+                int succ = succTargets[e];
+                if (--remaining[succ] == 0) {
+                    ready[readyCount++] = succ;
+                }
+            }
+        }
+        return order;
+    }
+}
@@ -0,0 +1,86 @@
+package core;
+
+import java.time.Duration;
+
+/**
+ * CancellationToken類別：協作式取消
+ * 可由任何執行緒呼叫 cancel()，或在建立時指定截止時間（System.nanoTime 時間軸）；
+ * 長時間的計算在檢查點呼叫 isCancelled()，取消後盡快停止並保留目前最好的結果。
+ * 由 childWithTimeout 建立的子 token 在父 token 取消時也視為已取消。
+ */
+public final class CancellationToken {
+    /**
+     * 永遠不會取消的 token（預設值）
+     */
+    public static final CancellationToken NONE = new CancellationToken(null, Long.MAX_VALUE, false);
+
+    private static final long MAX_TIMEOUT_SECONDS = Long.MAX_VALUE / 2 / 1_000_000_000L;
+
+    private final CancellationToken parent;
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private volatile boolean cancelled;
+
+    /**
+     * 沒有截止時間，只能由 cancel() 取消
+     */
+    public CancellationToken() {
+        this(null, Long.MAX_VALUE, false);
+    }
+
+    private CancellationToken(CancellationToken parent, long deadlineNanos, boolean hasDeadline) {
+        this.parent = parent;
+        this.deadlineNanos = deadlineNanos;
+        this.hasDeadline = hasDeadline;
+    }
+
+    /**
+     * 從現在起經過 timeout 後自動取消
+     */
+    public static CancellationToken withTimeout(Duration timeout) {
+        return new CancellationToken().childWithTimeout(timeout);
+    }
+
+    /**
+     * 建立子 token：經過 timeout 或此 token 被取消時取消
+     */
+    public CancellationToken childWithTimeout(Duration timeout) {
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("Timeout must not be negative: " + timeout);
+        }
+        // 超過約 146 年的時限（nanoTime 無法表示）視為沒有截止時間
+        if (timeout.getSeconds() >= MAX_TIMEOUT_SECONDS) {
+            return new CancellationToken(this, Long.MAX_VALUE, false);
+        }
+        return new CancellationToken(this, System.nanoTime() + timeout.toNanos(), true);
+    }
+
+    public void cancel() {
+        if (this == NONE) {
+            throw new UnsupportedOperationException("CancellationToken.NONE cannot be cancelled");
+        }
+        cancelled = true;
+    }
+
+    /**
+     * **PERFORMANCE**: 只讀取一個 volatile 欄位與（有截止時間時）System.nanoTime()，可在內層迴圈中呼叫
+     */
+    public boolean isCancelled() {
+        if (cancelled) {
+            return true;
+        }
+        if (hasDeadline && System.nanoTime() - deadlineNanos >= 0) {
+            cancelled = true;
+            return true;
+        }
+        return parent != null && parent.isCancelled();
+    }
+
+    /**
+     * 距離截止時間的剩餘奈秒數（沒有截止時間時為 Long.MAX_VALUE，已過期時為 0）
+     */
+    public long remainingNanos() {
+        long remaining = hasDeadline ? Math.max(0, deadlineNanos - System.nanoTime()) : Long.MAX_VALUE;
+        return (parent != null) ? Math.min(remaining, parent.remainingNanos()) : remaining;
+    }
+}
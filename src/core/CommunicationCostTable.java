@@ -0,0 +1,126 @@
+package core;
+
+/**
+ * CommunicationCostTable類別：以 edge id 為索引的預先計算通訊成本
+ * 成本 = 邊的數據量 × communicationRates[p][q]，同一處理器上恆為 0。
+ *
+ * 三種儲存方式（建立時自動選擇）：
+ * 1. 非對角線速率皆相同 (如 n4_* 檔案)：每條邊只存一個值，查詢為單次陣列讀取
+ * 2. 一般速率矩陣且 E×P×P 不大：每條邊存一個 P×P 區塊，查詢同樣為單次陣列讀取
+ * 3. 一般速率矩陣且表格過大：退回 數據量 × 扁平化速率 的乘法
+ */
+public final class CommunicationCostTable {
+    // 完整 E×P×P 表格的上限（約 32MB），超過則改用乘法
+    private static final long MAX_DENSE_ENTRIES = 1L << 22;
+
+    private final int processorCount;
+    private final boolean uniform;
+    private final double[] edgeCosts;   // uniform: [e]；dense: [e*P*P + p*P + q]；否則為 null
+    private final double[] edgeVolumes; // 僅在第 3 種方式使用
+    private final double[] flatRates;   // 僅在第 3 種方式使用，對角線為 0
+
+    public CommunicationCostTable(CsrGraph graph, double[][] communicationRates) {
+        int p = communicationRates.length;
+        int edgeCount = graph.getEdgeCount();
+        int[] volumes = graph.getSuccessorVolumes();
+        this.processorCount = p;
+
+        // 偵測非對角線是否為同一速率
+        double uniformRate = (p > 1) ? communicationRates[0][1] : 0.0;
+        boolean isUniform = true;
+        for (int i = 0; i < p && isUniform; i++) {
+            for (int j = 0; j < p; j++) {
+                if (i != j && communicationRates[i][j] != uniformRate) {
+                    isUniform = false;
+                    break;
+                }
+            }
+        }
+        this.uniform = isUniform;
+
+        if (isUniform) {
+            edgeCosts = new double[edgeCount];
+            for (int e = 0; e < edgeCount; e++) {
+                edgeCosts[e] = volumes[e] * uniformRate;
+            }
+            edgeVolumes = null;
+            flatRates = null;
+        } else if ((long) edgeCount * p * p <= MAX_DENSE_ENTRIES) {
+            int block = p * p;
+            edgeCosts = new double[edgeCount * block];
+            for (int e = 0; e < edgeCount; e++) {
+                int base = e * block;
+                for (int from = 0; from < p; from++) {
+                    for (int to = 0; to < p; to++) {
+                        edgeCosts[base + from * p + to] = (from == to) ? 0.0 : volumes[e] * communicationRates[from][to];
+                    }
+                }
+            }
+            edgeVolumes = null;
+            flatRates = null;
+        } else {
+            edgeCosts = null;
+            edgeVolumes = new double[edgeCount];
+            for (int e = 0; e < edgeCount; e++) {
+                edgeVolumes[e] = volumes[e];
+            }
+            flatRates = new double[p * p];
+            for (int from = 0; from < p; from++) {
+                for (int to = 0; to < p; to++) {
+                    flatRates[from * p + to] = (from == to) ? 0.0 : communicationRates[from][to];
+                }
+            }
+        }
+    }
+
+    /**
+     * 取得邊 edgeId 從 fromProcessor 傳送到 toProcessor 的通訊成本
+     */
+    public double cost(int edgeId, int fromProcessor, int toProcessor) {
+        if (fromProcessor == toProcessor) {
+            return 0.0;
+        }
+        if (uniform) {
+            return edgeCosts[edgeId];
+        }
+        if (edgeCosts != null) {
+            return edgeCosts[(edgeId * processorCount + fromProcessor) * processorCount + toProcessor];
+        }
+        return edgeVolumes[edgeId] * flatRates[fromProcessor * processorCount + toProcessor];
+    }
+
+    /**
+     * **PERFORMANCE**: 以一個前驅更新任務在所有處理器上的數據就緒時間：
+     * row[to] = max(row[to], finishTime + cost(edgeId, fromProcessor, to))，各處理器的運算交給 kernel。
+     * row 中的值必須為非負數（與逐一比較 row[to] 的嚴格大於結果相同）。
+     */
+    public void accumulateDataReady(RowKernel kernel, int edgeId, int fromProcessor, double finishTime,
+                                    double[] row, int rowStart) {
+        if (uniform) {
+            // 同一處理器上沒有通訊成本：先對整列取最大值，再還原該處理器的值
+            int local = rowStart + fromProcessor;
+            double localDataReady = row[local];
+            kernel.maxOfValue(row, rowStart, finishTime + edgeCosts[edgeId], processorCount);
+            double localValue = finishTime + 0.0;
+            row[local] = (localValue > localDataReady) ? localValue : localDataReady;
+        } else if (edgeCosts != null) {
+            kernel.maxOfSums(row, rowStart, finishTime, edgeCosts, (edgeId * processorCount + fromProcessor) * processorCount, processorCount);
+        } else {
+            kernel.maxOfScaledSums(row, rowStart, finishTime, edgeVolumes[edgeId], flatRates, fromProcessor * processorCount, processorCount);
+        }
+    }
+
+    /**
+     * 非對角線速率是否皆相同；若是，uniformCost 即為任意兩個不同處理器間的成本
+     */
+    public boolean isUniform() {
+        return uniform;
+    }
+
+    /**
+     * 均勻速率下邊 edgeId 跨處理器的通訊成本（僅在 isUniform() 為 true 時有效）
+     */
+    public double uniformCost(int edgeId) {
+        return edgeCosts[edgeId];
+    }
+}
@@ -0,0 +1,53 @@
+package core;
+
+import java.util.List;
+
+/**
+ * CriticalPathReassignment類別：關鍵路徑上的任務換到其他處理器
+ * 移動編碼：(任務 << 32) | 處理器。依關鍵路徑順序、處理器編號遞增列舉，
+ * 與 Schedule.criticalPathLocalSearch 的掃描順序相同；APPEND 以增量評估，INSERTION 完整模擬。
+ */
+public final class CriticalPathReassignment implements Neighborhood {
+    @Override
+    public String getName() {
+        return "reassign";
+    }
+
+    @Override
+    public long[] generate(Schedule schedule) {
+        List<Integer> criticalPath = schedule.findCriticalPath();
+        int[] chromosome = schedule.getChromosome();
+        int processorCount = schedule.getDag().getProcessorCount();
+        long[] moves = new long[criticalPath.size() * Math.max(0, processorCount - 1)];
+        int count = 0;
+        for (int taskId : criticalPath) {
+            for (int pId = 0; pId < processorCount; pId++) {
+                if (pId != chromosome[taskId]) {
+                    moves[count++] = ((long) taskId << 32) | pId;
+                }
+            }
+        }
+        return moves;
+    }
+
+    @Override
+    public double evaluate(Schedule schedule, long move, LocalSearchWorkspace workspace) {
+        int taskId = (int) (move >>> 32);
+        int processorId = (int) move;
+        if (schedule.getSchedulingPolicy() == SchedulingPolicy.APPEND) {
+            return workspace.getDeltaEvaluator().evaluateMove(taskId, processorId);
+        }
+        int[] assignment = workspace.getAssignment();
+        int originalProcessor = assignment[taskId];
+        assignment[taskId] = processorId;
+        double makespan = workspace.getEvaluationContext().evaluate(schedule.getDag(), assignment, workspace.getOrder(),
+                schedule.getSchedulingPolicy());
+        assignment[taskId] = originalProcessor;
+        return makespan;
+    }
+
+    @Override
+    public void apply(Schedule schedule, long move) {
+        schedule.reassign((int) (move >>> 32), (int) move);
+    }
+}
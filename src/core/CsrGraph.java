@@ -0,0 +1,263 @@
+package core;
+
+import java.util.Arrays;
+
+/**
+ * CsrGraph類別：以壓縮稀疏列 (Compressed Sparse Row) 格式儲存任務依賴關係
+ * 由 DAG 載入時建立一次，之後不可變；排程器直接掃描原始 int 陣列，
+ * 不再經過 boxed 的 List&lt;Integer&gt; 與 HashMap 查詢。
+ *
+ * 後繼方向的邊索引即為 edge id，前驅方向透過 predEdgeIds 對應回同一條邊。
+ * 回傳的陣列為內部儲存本身，呼叫端不可修改。
+ */
+public final class CsrGraph {
+    private final int taskCount;
+    private final int edgeCount;
+
+    // 任務 u 的出邊位於 [succOffsets[u], succOffsets[u + 1])
+    private final int[] succOffsets;
+    private final int[] succTargets;
+    private final int[] succVolumes;
+
+    // 任務 v 的入邊位於 [predOffsets[v], predOffsets[v + 1])
+    private final int[] predOffsets;
+    private final int[] predSources;
+    private final int[] predVolumes;
+    private final int[] predEdgeIds;
+
+    private CsrGraph(int taskCount, int edgeCount,
+                     int[] succOffsets, int[] succTargets, int[] succVolumes,
+                     int[] predOffsets, int[] predSources, int[] predVolumes, int[] predEdgeIds) {
+        this.taskCount = taskCount;
+        this.edgeCount = edgeCount;
+        this.succOffsets = succOffsets;
+        this.succTargets = succTargets;
+        this.succVolumes = succVolumes;
+        this.predOffsets = predOffsets;
+        this.predSources = predSources;
+        this.predVolumes = predVolumes;
+        this.predEdgeIds = predEdgeIds;
+    }
+
+    /**
+     * 由原始邊列表建立 CSR 圖。
+     * 與 Task 的語意一致：重複的 (from, to) 只保留第一次出現的位置，
+     * 數據量取最後一個正值（皆非正值則為 0），超出範圍的邊會被忽略。
+     * 每個任務的鄰居順序即為邊在檔案中第一次出現的順序。
+     * @param taskCount 任務數量
+     * @param from 邊的起點
+     * @param to 邊的終點
+     * @param volume 邊的數據傳輸量
+     * @param count 有效的邊數 (陣列前 count 個元素)
+     * @return 建立好的 CSR 圖
+     */
+    public static CsrGraph build(int taskCount, int[] from, int[] to, int[] volume, int count) {
+        // 1. 去除重複邊：以 (from, to) 為鍵的開放定址雜湊表
+        int capacity = Integer.highestOneBit(Math.max(4, count * 2 - 1)) << 1;
+        long[] keys = new long[capacity];
+        int[] slots = new int[capacity];
+        Arrays.fill(slots, -1);
+        int mask = capacity - 1;
+
+        int[] uniqueFrom = new int[count];
+        int[] uniqueTo = new int[count];
+        int[] uniqueVolume = new int[count];
+        int unique = 0;
+
+        for (int i = 0; i < count; i++) {
+            int u = from[i];
+            int v = to[i];
+            if (u < 0 || v < 0 || u >= taskCount || v >= taskCount) {
+                continue;
+            }
+            long key = ((long) u << 32) | (v & 0xffffffffL);
+            int h = (int) (mix(key) & mask);
+            while (slots[h] != -1 && keys[h] != key) {
+                h = (h + 1) & mask;
+            }
+            int e = slots[h];
+            if (e == -1) {
+                e = unique++;
+                slots[h] = e;
+                keys[h] = key;
+                uniqueFrom[e] = u;
+                uniqueTo[e] = v;
+            }
+            if (volume[i] > 0) {
+                uniqueVolume[e] = volume[i];
+            }
+        }
+
+        // 2. 依起點做穩定的計數排序，得到後繼方向
+        int[] succOffsets = new int[taskCount + 1];
+        for (int e = 0; e < unique; e++) {
+            succOffsets[uniqueFrom[e] + 1]++;
+        }
+        for (int t = 0; t < taskCount; t++) {
+            succOffsets[t + 1] += succOffsets[t];
+        }
+        int[] cursor = Arrays.copyOf(succOffsets, taskCount);
+        int[] edgeIdOf = new int[unique];
+        int[] succTargets = new int[unique];
+        int[] succVolumes = new int[unique];
+        for (int e = 0; e < unique; e++) {
+            int id = cursor[uniqueFrom[e]]++;
+            edgeIdOf[e] = id;
+            succTargets[id] = uniqueTo[e];
+            succVolumes[id] = uniqueVolume[e];
+        }
+
+        // 3. 依終點做穩定的計數排序，得到前驅方向
+        int[] predOffsets = new int[taskCount + 1];
+        for (int e = 0; e < unique; e++) {
+            predOffsets[uniqueTo[e] + 1]++;
+        }
+        for (int t = 0; t < taskCount; t++) {
+            predOffsets[t + 1] += predOffsets[t];
+        }
+        cursor = Arrays.copyOf(predOffsets, taskCount);
+        int[] predSources = new int[unique];
+        int[] predVolumes = new int[unique];
+        int[] predEdgeIds = new int[unique];
+        for (int e = 0; e < unique; e++) {
+            int slot = cursor[uniqueTo[e]]++;
+            predSources[slot] = uniqueFrom[e];
+            predVolumes[slot] = uniqueVolume[e];
+            predEdgeIds[slot] = edgeIdOf[e];
+        }
+
+        return new CsrGraph(taskCount, unique, succOffsets, succTargets, succVolumes,
+                            predOffsets, predSources, predVolumes, predEdgeIds);
+    }
+
+    /**
+     * 由已建好的 CSR 陣列還原圖（供二進位 DAG 格式載入使用，陣列直接採用不複製）。
+     * 前驅方向的來源與數據量由 predEdgeIds 對應回後繼方向推得。
+     * @throws IllegalArgumentException 陣列不構成合法的 CSR 圖時
+     */
+    static CsrGraph fromArrays(int taskCount, int[] succOffsets, int[] succTargets, int[] succVolumes,
+                               int[] predOffsets, int[] predEdgeIds) {
+        int edgeCount = succTargets.length;
+        if (succOffsets.length != taskCount + 1 || predOffsets.length != taskCount + 1
+                || succVolumes.length != edgeCount || predEdgeIds.length != edgeCount) {
+            throw new IllegalArgumentException("CSR array lengths do not match " + taskCount + " tasks and " + edgeCount + " edges");
+        }
+        checkOffsets(succOffsets, edgeCount);
+        checkOffsets(predOffsets, edgeCount);
+
+        int[] edgeSources = new int[edgeCount];
+        for (int u = 0; u < taskCount; u++) {
+            for (int e = succOffsets[u]; e < succOffsets[u + 1]; e++) {
+                edgeSources[e] = u;
+            }
+        }
+        int[] predSources = new int[edgeCount];
+        int[] predVolumes = new int[edgeCount];
+        boolean[] seen = new boolean[edgeCount];
+        for (int v = 0; v < taskCount; v++) {
+            for (int slot = predOffsets[v]; slot < predOffsets[v + 1]; slot++) {
+                int e = predEdgeIds[slot];
+                if (e < 0 || e >= edgeCount || seen[e] || succTargets[e] != v) {
+                    throw new IllegalArgumentException("Predecessor slot " + slot + " does not match a successor edge of task " + v);
+                }
+                seen[e] = true;
+                predSources[slot] = edgeSources[e];
+                predVolumes[slot] = succVolumes[e];
+            }
+        }
+        return new CsrGraph(taskCount, edgeCount, succOffsets, succTargets, succVolumes,
+                            predOffsets, predSources, predVolumes, predEdgeIds);
+    }
+
+    private static void checkOffsets(int[] offsets, int edgeCount) {
+        if (offsets[0] != 0 || offsets[offsets.length - 1] != edgeCount) {
+            throw new IllegalArgumentException("CSR offsets must span [0, " + edgeCount + "]");
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            if (offsets[i] < offsets[i - 1]) {
+                throw new IllegalArgumentException("CSR offsets must be non-decreasing at index " + i);
+            }
+        }
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    /**
+     * 計算拓撲排序（與原本遞迴 DFS 的後序結果完全相同，但以顯式堆疊避免大型 DAG 的堆疊溢位）
+     * @return 依拓撲順序排列的任務 ID
+     */
+    public int[] computeTopologicalOrder() {
+        int[] postOrder = new int[taskCount];
+        int postCount = 0;
+        boolean[] visited = new boolean[taskCount];
+        int[] stack = new int[taskCount];
+        int[] nextEdge = new int[taskCount];
+
+        for (int root = 0; root < taskCount; root++) {
+            if (visited[root]) continue;
+            int depth = 0;
+            stack[depth++] = root;
+            visited[root] = true;
+            nextEdge[root] = succOffsets[root];
+
+            while (depth > 0) {
+                int u = stack[depth - 1];
+                int end = succOffsets[u + 1];
+                int e = nextEdge[u];
+                while (e < end && visited[succTargets[e]]) {
+                    e++;
+                }
+                if (e < end) {
+                    int v = succTargets[e];
+                    nextEdge[u] = e + 1;
+                    visited[v] = true;
+                    nextEdge[v] = succOffsets[v];
+                    stack[depth++] = v;
+                } else {
+                    postOrder[postCount++] = u;
+                    depth--;
+                }
+            }
+        }
+
+        // 後序反轉即為拓撲順序
+        int[] order = new int[postCount];
+        for (int i = 0; i < postCount; i++) {
+            order[i] = postOrder[postCount - 1 - i];
+        }
+        return order;
+    }
+
+    /**
+     * 尋找邊 (from, to) 的 edge id
+     * @return edge id，若不存在則回傳 -1
+     */
+    public int findEdge(int from, int to) {
+        for (int e = succOffsets[from], end = succOffsets[from + 1]; e < end; e++) {
+            if (succTargets[e] == to) {
+                return e;
+            }
+        }
+        return -1;
+    }
+
+    public int getTaskCount() { return taskCount; }
+    public int getEdgeCount() { return edgeCount; }
+
+    public int getInDegree(int taskId) { return predOffsets[taskId + 1] - predOffsets[taskId]; }
+    public int getOutDegree(int taskId) { return succOffsets[taskId + 1] - succOffsets[taskId]; }
+
+    // 原始陣列存取：供熱迴圈直接掃描
+    public int[] getSuccessorOffsets() { return succOffsets; }
+    public int[] getSuccessorTargets() { return succTargets; }
+    public int[] getSuccessorVolumes() { return succVolumes; }
+    public int[] getPredecessorOffsets() { return predOffsets; }
+    public int[] getPredecessorSources() { return predSources; }
+    public int[] getPredecessorVolumes() { return predVolumes; }
+    public int[] getPredecessorEdgeIds() { return predEdgeIds; }
+}
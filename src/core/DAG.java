@@ -1,6 +1,7 @@
 package core;
 
-import java.io.*;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -16,6 +17,9 @@ public class DAG {
     private boolean isHomogeneous; // 是否為同質性系統
     private List<Task> rankedTasksCache = null; // 快取欄位
     private double[][] octCache = null; // **NEW**: OCT 快取欄位
+    private CsrGraph graph; // **PERFORMANCE**: 不可變的 CSR 依賴圖
+    private int[] topologicalOrder; // **PERFORMANCE**: 載入時計算一次的拓撲排序
+    private CommunicationCostTable commCostTable; // **PERFORMANCE**: 以 edge id 索引的通訊成本
     
     public DAG() {
         this.tasks = new ArrayList<>();
@@ -23,98 +27,77 @@ public class DAG {
     
     /**
      * 從DAG檔案載入數據
+     * **PERFORMANCE**: 以記憶體映射的位元組解析器一次讀完，不建立中間的字串行列表；
+     * 若檔案為二進位 DAG 格式 (DagBinaryFormat) 則直接整批讀入
      */
     public void loadFromFile(String filename) throws IOException {
-        BufferedReader reader = new BufferedReader(new FileReader(filename));
-        
         // 判斷是否為同質性系統
         this.isHomogeneous = filename.contains("n4_00");
         
-        try {
-            // 讀取所有有效數據行（跳過註解）
-            List<String> dataLines = new ArrayList<>();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                
-                // 跳過註解行、空行和包含中文字符的行
-                if (line.isEmpty() || line.startsWith("/*") || line.startsWith("*/") || 
-                    line.contains("/*") || line.contains("===") || containsNonAscii(line)) {
-                    continue;
-                }
-                
-                dataLines.add(line);
-            }
-            
-            // 解析數據
-            parseDataLines(dataLines);
-            
-        } finally {
-            reader.close();
+        Path path = Path.of(filename);
+        if (DagBinaryFormat.isBinaryFile(path)) {
+            DagBinaryFormat.read(path, this);
+        } else {
+            DagTextParser.parse(filename, this);
         }
     }
     
     /**
-     * 檢查字符串是否包含非ASCII字符
+     * 由快取的二進位檔載入，同質性判斷仍依原始文字檔名
      */
-    private boolean containsNonAscii(String str) {
-        for (char c : str.toCharArray()) {
-            if (c > 127) {
-                return true;
-            }
-        }
-        return false;
+    void loadFromBinary(String filename, Path binaryFile) throws IOException {
+        this.isHomogeneous = filename.contains("n4_00");
+        DagBinaryFormat.read(binaryFile, this);
     }
     
     /**
-     * 解析數據行
+     * 由記憶體中的陣列建立 DAG（例如合成 DAG 產生器），邊的語意與從檔案載入相同
+     * @param computationCosts 計算成本，依任務逐列排列：computationCosts[task * processorCount + p]
      */
-    private void parseDataLines(List<String> dataLines) {
-        int lineIndex = 0;
-        
-        // 解析基本參數
-        processorCount = Integer.parseInt(dataLines.get(lineIndex++));
-        taskCount = Integer.parseInt(dataLines.get(lineIndex++));
-        edgeCount = Integer.parseInt(dataLines.get(lineIndex++));
-        
-        // 初始化數據結構
-        communicationRates = new double[processorCount][processorCount];
-        initializeTasks();
-        
-        // 解析通訊成本矩陣
-        for (int i = 0; i < processorCount; i++) {
-            String[] values = dataLines.get(lineIndex++).split("\\s+");
-            for (int j = 0; j < processorCount; j++) {
-                communicationRates[i][j] = Double.parseDouble(values[j]);
-            }
-        }
-        
-        // 解析計算成本矩陣
+    public static DAG create(int processorCount, int taskCount, double[][] communicationRates, double[] computationCosts,
+                             int[] edgeFrom, int[] edgeTo, int[] edgeVolume, int edgeCount) {
+        DAG dag = new DAG();
+        dag.initializeStructure(processorCount, taskCount, edgeCount, communicationRates);
         for (int i = 0; i < taskCount; i++) {
-            String[] values = dataLines.get(lineIndex++).split("\\s+");
-            Task task = tasks.get(i);
-            for (int j = 0; j < processorCount; j++) {
-                task.setComputationCost(j, Double.parseDouble(values[j]));
-            }
+            System.arraycopy(computationCosts, i * processorCount, dag.getTask(i).getComputationCosts(), 0, processorCount);
         }
+        dag.initializeDependencies(edgeFrom, edgeTo, edgeVolume, edgeCount);
+        return dag;
+    }
+
+    /**
+     * 設定基本參數並建立任務（計算成本由載入器直接寫入各 Task 的成本陣列）
+     */
+    void initializeStructure(int processorCount, int taskCount, int edgeCount, double[][] communicationRates) {
+        this.processorCount = processorCount;
+        this.taskCount = taskCount;
+        this.edgeCount = edgeCount;
+        this.communicationRates = communicationRates;
+        this.tasks = new ArrayList<>(taskCount);
+        this.rankedTasksCache = null;
+        this.octCache = null;
+        initializeTasks();
+    }
+    
+    /**
+     * 由邊列表建立任務依賴關係
+     * 重複的 (from, to) 只保留一條，超出範圍的邊會被忽略
+     */
+    void initializeDependencies(int[] edgeFrom, int[] edgeTo, int[] edgeVolume, int parsedEdges) {
+        initializeGraph(CsrGraph.build(taskCount, edgeFrom, edgeTo, edgeVolume, parsedEdges));
+    }
+    
+    /**
+     * 以建好的 CSR 圖設定任務依賴關係
+     */
+    void initializeGraph(CsrGraph graph) {
+        // **PERFORMANCE**: 建立 CSR 依賴圖與拓撲排序，供所有排程器的熱迴圈使用
+        this.graph = graph;
+        topologicalOrder = graph.computeTopologicalOrder();
+        commCostTable = new CommunicationCostTable(graph, communicationRates);
         
-        // 解析任務依賴關係
-        while (lineIndex < dataLines.size()) {
-            String[] parts = dataLines.get(lineIndex++).split("\\s+");
-            int fromTask = Integer.parseInt(parts[0]);
-            int toTask = Integer.parseInt(parts[1]);
-            int dataVolume = Integer.parseInt(parts[2]);
-            
-            // 建立任務依賴關係
-            if (fromTask < taskCount && toTask < taskCount) {
-                tasks.get(fromTask).addSuccessor(toTask);
-                tasks.get(toTask).addPredecessor(fromTask);
-                
-                // 設定數據傳輸量
-                if (dataVolume > 0) {
-                    tasks.get(fromTask).setDataTransferVolume(toTask, dataVolume);
-                }
-            }
+        for (Task task : tasks) {
+            task.setDependencies(graph);
         }
     }
     
@@ -132,11 +115,16 @@ public class DAG {
             return 0.0; // 同一處理器上無通訊成本
         }
         
-        Task task = tasks.get(fromTask);
-        int dataVolume = task.getDataTransferVolume(toTask);
-        double commRate = communicationRates[fromProcessor][toProcessor];
-        
-        return dataVolume * commRate;
+        int edgeId = graph.findEdge(fromTask, toTask);
+        return (edgeId == -1) ? 0.0 : commCostTable.cost(edgeId, fromProcessor, toProcessor);
+    }
+    
+    /**
+     * **PERFORMANCE**: 以 edge id (CsrGraph 後繼方向的邊索引) 取得預先計算的通訊成本，
+     * 供走訪 CSR 邊的熱迴圈使用。
+     */
+    public double getEdgeCommunicationCost(int edgeId, int fromProcessor, int toProcessor) {
+        return commCostTable.cost(edgeId, fromProcessor, toProcessor);
     }
     
     /**
@@ -156,29 +144,18 @@ public class DAG {
      * 獲取拓撲排序結果
      */
     public List<Integer> getTopologicalOrder() {
-        List<Integer> result = new ArrayList<>();
-        boolean[] visited = new boolean[taskCount];
-        
-        for (int i = 0; i < taskCount; i++) {
-            if (!visited[i]) {
-                dfsTopological(i, visited, result);
-            }
+        List<Integer> result = new ArrayList<>(topologicalOrder.length);
+        for (int taskId : topologicalOrder) {
+            result.add(taskId);
         }
-        
-        Collections.reverse(result);
         return result;
     }
     
-    private void dfsTopological(int taskId, boolean[] visited, List<Integer> result) {
-        visited[taskId] = true;
-        
-        for (int successor : tasks.get(taskId).getSuccessors()) {
-            if (!visited[successor]) {
-                dfsTopological(successor, visited, result);
-            }
-        }
-        
-        result.add(taskId);
+    /**
+     * **PERFORMANCE**: 以原始陣列取得拓撲排序（內部快取，呼叫端不可修改）
+     */
+    public int[] getTopologicalOrderArray() {
+        return topologicalOrder;
     }
     
     // Getters
@@ -189,6 +166,8 @@ public class DAG {
     public Task getTask(int taskId) { return tasks.get(taskId); }
     public boolean isHomogeneous() { return isHomogeneous; }
     public double[][] getCommunicationRates() { return communicationRates; }
+    public CsrGraph getGraph() { return graph; }
+    public CommunicationCostTable getCommunicationCostTable() { return commCostTable; }
     
     /**
      * **NEW**: Calculates the average communication rate between any two different processors.
@@ -0,0 +1,301 @@
+package core;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * DagBinaryFormat類別：DAG 的版本化二進位編碼
+ * 儲存解析完成後的結果（計算/通訊成本矩陣與 CSR 邊陣列），載入時以固定大小的堆積緩衝區分段整批複製，
+ * 不需要再做文字解析、去除重複邊或排序。讀寫都不建立記憶體映射，因此快取檔可以立即被改名、取代或刪除
+ * （Windows 上仍有映射的檔案無法改名或刪除，而映射要到 GC 才會釋放）。
+ *
+ * 檔案格式（little-endian）：
+ * <pre>
+ *   int    magic ("DAGB")       int    version
+ *   long   來源文字檔的內容雜湊
+ *   int    處理器數 P           int    任務數 V
+ *   int    檔案宣告的邊數       int    CSR 邊數 E
+ *   double 通訊速率 [P*P]       double 計算成本 [V*P]
+ *   int    succOffsets [V+1]    int    succTargets [E]    int succVolumes [E]
+ *   int    predOffsets [V+1]    int    predEdgeIds [E]
+ * </pre>
+ */
+public class DagBinaryFormat {
+    public static final int MAGIC = 0x42474144; // "DAGB"（little-endian）
+    public static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int IO_BUFFER_BYTES = 1 << 20; // 讀寫使用的堆積緩衝區大小（8 的倍數）
+
+    /**
+     * 檢查檔案是否以二進位 DAG 的 magic 開頭
+     */
+    public static boolean isBinaryFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return false;
+            }
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            return readFully(channel, magic, 0) == 4 && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * 將已載入的 DAG 寫成二進位檔
+     * 經由固定大小的堆積緩衝區寫出，不建立記憶體映射：映射在 GC 前不會釋放，
+     * 在 Windows 上會使之後的改名與刪除失敗。
+     * @param sourceHash 來源文字檔的內容雜湊（參見 contentHash），快取以此判斷是否過期
+     */
+    public static void write(DAG dag, long sourceHash, Path path) throws IOException {
+        int processorCount = dag.getProcessorCount();
+        int taskCount = dag.getTaskCount();
+        CsrGraph graph = dag.getGraph();
+        int edgeCount = graph.getEdgeCount();
+
+        long size = expectedSize(processorCount, taskCount, edgeCount);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("DAG too large for the binary format: " + size + " bytes");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size, IO_BUFFER_BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(sourceHash);
+            buffer.putInt(processorCount).putInt(taskCount).putInt(dag.getEdgeCount()).putInt(edgeCount);
+
+            for (double[] row : dag.getCommunicationRates()) {
+                putDoubles(channel, buffer, row);
+            }
+            for (int t = 0; t < taskCount; t++) {
+                putDoubles(channel, buffer, dag.getTask(t).getComputationCosts());
+            }
+            putInts(channel, buffer, graph.getSuccessorOffsets());
+            putInts(channel, buffer, graph.getSuccessorTargets());
+            putInts(channel, buffer, graph.getSuccessorVolumes());
+            putInts(channel, buffer, graph.getPredecessorOffsets());
+            putInts(channel, buffer, graph.getPredecessorEdgeIds());
+            flush(channel, buffer);
+            channel.force(false);
+        }
+    }
+
+    /**
+     * 讀取二進位檔的來源內容雜湊
+     */
+    public static long readSourceHash(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.limit(readFully(channel, header, 0));
+            checkHeader(header, path);
+            return header.getLong(8);
+        }
+    }
+
+    /**
+     * 以堆積緩衝區分段讀入二進位檔並直接複製到 DAG 的陣列（不保留任何映射，檔案之後可立即被取代或刪除）
+     */
+    static void read(Path path, DAG dag) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Binary DAG file too large: " + path);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.max(HEADER_BYTES, Math.min(fileSize, IO_BUFFER_BYTES)))
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+            buffer.limit(0);
+            refill(channel, buffer, path);
+            checkHeader(buffer, path);
+            buffer.position(16);
+            int processorCount = buffer.getInt();
+            int taskCount = buffer.getInt();
+            int declaredEdgeCount = buffer.getInt();
+            int edgeCount = buffer.getInt();
+            if (processorCount < 0 || taskCount < 0 || edgeCount < 0
+                    || expectedSize(processorCount, taskCount, edgeCount) != fileSize) {
+                throw new IOException("Corrupt binary DAG file " + path + ": size does not match header");
+            }
+
+            double[][] communicationRates = new double[processorCount][processorCount];
+            for (double[] row : communicationRates) {
+                getDoubles(channel, buffer, row, path);
+            }
+            dag.initializeStructure(processorCount, taskCount, declaredEdgeCount, communicationRates);
+            for (int t = 0; t < taskCount; t++) {
+                getDoubles(channel, buffer, dag.getTask(t).getComputationCosts(), path);
+            }
+
+            int[] succOffsets = getInts(channel, buffer, taskCount + 1, path);
+            int[] succTargets = getInts(channel, buffer, edgeCount, path);
+            int[] succVolumes = getInts(channel, buffer, edgeCount, path);
+            int[] predOffsets = getInts(channel, buffer, taskCount + 1, path);
+            int[] predEdgeIds = getInts(channel, buffer, edgeCount, path);
+            try {
+                dag.initializeGraph(CsrGraph.fromArrays(taskCount, succOffsets, succTargets, succVolumes, predOffsets, predEdgeIds));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt binary DAG file " + path + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 計算檔案內容的 64 位元雜湊（以 8 位元組為單位混合，供快取鍵與過期檢查使用）
+     */
+    public static long contentHash(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long hash = 0x9E3779B97F4A7C15L ^ (size * 0xC2B2AE3D27D4EB4FL);
+            // 區段長度為 8 的倍數，不足 8 位元組的尾端只會出現在檔案結尾
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(Math.max(size, 8), IO_BUFFER_BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+            long offset = 0;
+            while (offset < size) {
+                buffer.clear();
+                int limit = readFully(channel, buffer, offset);
+                if (limit == 0) {
+                    break; // 檔案在讀取期間變短
+                }
+                int i = 0;
+                for (; i + 8 <= limit; i += 8) {
+                    hash = mixWord(hash, buffer.getLong(i));
+                }
+                if (i < limit) {
+                    long tail = 0;
+                    for (int shift = 0; i < limit; i++, shift += 8) {
+                        tail |= (buffer.get(i) & 0xffL) << shift;
+                    }
+                    hash = mixWord(hash, tail);
+                }
+                offset += limit;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+
+    private static long mixWord(long hash, long word) {
+        word *= 0x87c37b91114253d5L;
+        word = Long.rotateLeft(word, 31);
+        word *= 0x4cf5ad432745937fL;
+        hash ^= word;
+        return Long.rotateLeft(hash, 27) * 5 + 0x52dce729;
+    }
+
+    private static void checkHeader(ByteBuffer buffer, Path path) throws IOException {
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a binary DAG file: " + path);
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary DAG version " + version + " in " + path + " (expected " + VERSION + ")");
+        }
+    }
+
+    private static long expectedSize(long processorCount, long taskCount, long edgeCount) {
+        return HEADER_BYTES
+             + 8L * (processorCount * processorCount + taskCount * processorCount)
+             + 4L * (2 * (taskCount + 1) + 3 * edgeCount);
+    }
+
+    /**
+     * 從 position 起讀到 buffer 填滿或檔案結尾，回傳讀到的位元組數（buffer 的 position 停在讀到的結尾）
+     */
+    private static int readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // 保留尚未讀取的位元組，其餘空間由目前的通道位置繼續讀入
+    private static void refill(FileChannel channel, ByteBuffer buffer, Path path) throws IOException {
+        buffer.compact();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        if (!buffer.hasRemaining()) {
+            throw new EOFException("Truncated binary DAG file: " + path);
+        }
+    }
+
+    private static void putDoubles(FileChannel channel, ByteBuffer buffer, double[] values) throws IOException {
+        int i = 0;
+        while (i < values.length) {
+            if (buffer.remaining() < Double.BYTES) {
+                flush(channel, buffer);
+            }
+            int count = Math.min(values.length - i, buffer.remaining() / Double.BYTES);
+            buffer.asDoubleBuffer().put(values, i, count);
+            buffer.position(buffer.position() + Double.BYTES * count);
+            i += count;
+        }
+    }
+
+    private static void putInts(FileChannel channel, ByteBuffer buffer, int[] values) throws IOException {
+        int i = 0;
+        while (i < values.length) {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush(channel, buffer);
+            }
+            int count = Math.min(values.length - i, buffer.remaining() / Integer.BYTES);
+            buffer.asIntBuffer().put(values, i, count);
+            buffer.position(buffer.position() + Integer.BYTES * count);
+            i += count;
+        }
+    }
+
+    private static void getDoubles(FileChannel channel, ByteBuffer buffer, double[] values, Path path) throws IOException {
+        int i = 0;
+        while (i < values.length) {
+            if (buffer.remaining() < Double.BYTES) {
+                refill(channel, buffer, path);
+                if (buffer.remaining() < Double.BYTES) {
+                    throw new EOFException("Truncated binary DAG file: " + path);
+                }
+            }
+            int count = Math.min(values.length - i, buffer.remaining() / Double.BYTES);
+            buffer.asDoubleBuffer().get(values, i, count);
+            buffer.position(buffer.position() + Double.BYTES * count);
+            i += count;
+        }
+    }
+
+    private static int[] getInts(FileChannel channel, ByteBuffer buffer, int length, Path path) throws IOException {
+        int[] values = new int[length];
+        int i = 0;
+        while (i < length) {
+            if (buffer.remaining() < Integer.BYTES) {
+                refill(channel, buffer, path);
+                if (buffer.remaining() < Integer.BYTES) {
+                    throw new EOFException("Truncated binary DAG file: " + path);
+                }
+            }
+            int count = Math.min(length - i, buffer.remaining() / Integer.BYTES);
+            buffer.asIntBuffer().get(values, i, count);
+            buffer.position(buffer.position() + Integer.BYTES * count);
+            i += count;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,83 @@
+package core;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * DagCache類別：以內容雜湊為鍵的二進位 DAG 解析快取
+ * 第一次載入某個 .dag 文字檔時照常解析，並把結果寫成 DagBinaryFormat 檔案；
+ * 之後只要檔案內容相同（不論檔名或路徑），就直接讀入二進位檔，省去文字解析。
+ *
+ * 快取目錄預設為工作目錄下的 .dagcache，可用系統屬性 dag.cache.dir 覆寫。
+ * 快取寫入失敗時只印出警告，不影響載入結果。
+ */
+public class DagCache {
+    public static final String DIRECTORY_PROPERTY = "dag.cache.dir";
+    private static final String DEFAULT_DIRECTORY = ".dagcache";
+
+    private final Path directory;
+
+    public DagCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 使用預設目錄（或 dag.cache.dir 系統屬性）的快取
+     */
+    public static DagCache defaultCache() {
+        return new DagCache(Path.of(System.getProperty(DIRECTORY_PROPERTY, DEFAULT_DIRECTORY)));
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * 載入 DAG 檔案，優先使用快取的二進位結果
+     */
+    public DAG load(String filename) throws IOException {
+        long hash = DagBinaryFormat.contentHash(Path.of(filename));
+        Path cached = directory.resolve(String.format("%016x.dagb", hash));
+
+        DAG dag = new DAG();
+        if (Files.isRegularFile(cached)) {
+            try {
+                if (DagBinaryFormat.readSourceHash(cached) == hash) {
+                    dag.loadFromBinary(filename, cached);
+                    return dag;
+                }
+            } catch (IOException e) {
+                // 快取檔損毀或版本不符：重新解析並覆寫
+            }
+        }
+
+        dag.loadFromFile(filename);
+        try {
+            store(dag, hash, cached);
+        } catch (IOException e) {
+            System.err.println("Warning: could not write DAG cache " + cached + ": " + e.getMessage());
+        }
+        return dag;
+    }
+
+    /**
+     * 先寫入暫存檔再改名，並行執行的行程不會讀到寫了一半的快取
+     */
+    private void store(DAG dag, long hash, Path cached) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "dag", ".tmp");
+        try {
+            DagBinaryFormat.write(dag, hash, temp);
+            try {
+                Files.move(temp, cached, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, cached, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * DagTextParser類別：.dag 文字檔的串流位元組解析器
+ * 以 FileChannel 將檔案映射到記憶體，直接從位元組切出數字並一次填入 DAG，
+ * 不建立 String 行列表，也不解碼 Big5 註解。
+ *
+ * 與原本逐行解析的規則相同：去除頭尾空白後，空行、以 "*&#47;" 開頭、
+ * 含有 "&#47;*" 或 "===" 或任何非 ASCII 位元組的行都視為註解略過。
+ * 資料行依序為：處理器數、任務數、邊數、P 行通訊速率、V 行計算成本，其餘皆為 (from, to, volume) 邊。
+ */
+public class DagTextParser {
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final ByteBuffer buffer;
+    private final int limit;
+    private final String filename;
+    private int position = 0;   // 下一行的起點
+    private int lineEnd;        // 目前資料行（已去除頭尾空白）的終點
+    private int cursor;         // 目前資料行中下一個 token 的搜尋起點
+    private byte[] scratch = new byte[64];
+
+    private DagTextParser(ByteBuffer buffer, String filename) {
+        this.buffer = buffer;
+        this.limit = buffer.limit();
+        this.filename = filename;
+    }
+
+    /**
+     * 解析 .dag 檔案並填入給定的 DAG
+     */
+    public static void parse(String filename, DAG dag) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("DAG file too large to map: " + filename + " (" + size + " bytes)");
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            new DagTextParser(buffer, filename).parseInto(dag);
+        }
+    }
+
+    private void parseInto(DAG dag) throws IOException {
+        // 解析基本參數
+        requireLine("processor count");
+        int processorCount = parseInt(requireToken());
+        requireLine("task count");
+        int taskCount = parseInt(requireToken());
+        requireLine("edge count");
+        int edgeCount = parseInt(requireToken());
+
+        // 解析通訊成本矩陣
+        double[][] communicationRates = new double[processorCount][processorCount];
+        for (int i = 0; i < processorCount; i++) {
+            requireLine("communication rate row " + i);
+            for (int j = 0; j < processorCount; j++) {
+                communicationRates[i][j] = parseDouble(requireToken());
+            }
+        }
+        dag.initializeStructure(processorCount, taskCount, edgeCount, communicationRates);
+
+        // 解析計算成本矩陣，直接寫入 Task 的成本陣列
+        for (int i = 0; i < taskCount; i++) {
+            requireLine("computation cost row " + i);
+            double[] costs = dag.getTask(i).getComputationCosts();
+            for (int j = 0; j < processorCount; j++) {
+                costs[j] = parseDouble(requireToken());
+            }
+        }
+
+        // 解析任務依賴關係
+        int[] edgeFrom = new int[Math.max(edgeCount, 16)];
+        int[] edgeTo = new int[edgeFrom.length];
+        int[] edgeVolume = new int[edgeFrom.length];
+        int parsedEdges = 0;
+        while (nextDataLine()) {
+            if (parsedEdges == edgeFrom.length) {
+                edgeFrom = Arrays.copyOf(edgeFrom, parsedEdges * 2);
+                edgeTo = Arrays.copyOf(edgeTo, parsedEdges * 2);
+                edgeVolume = Arrays.copyOf(edgeVolume, parsedEdges * 2);
+            }
+            edgeFrom[parsedEdges] = parseInt(requireToken());
+            edgeTo[parsedEdges] = parseInt(requireToken());
+            edgeVolume[parsedEdges] = parseInt(requireToken());
+            parsedEdges++;
+        }
+        dag.initializeDependencies(edgeFrom, edgeTo, edgeVolume, parsedEdges);
+    }
+
+    /**
+     * 前進到下一個資料行（略過註解行），並把 token 游標設在行首
+     * @return 是否還有資料行
+     */
+    private boolean nextDataLine() {
+        while (position < limit) {
+            int start = position;
+            int end = start;
+            while (end < limit) {
+                byte b = buffer.get(end);
+                if (b == '\n' || b == '\r') break;
+                end++;
+            }
+            position = end + 1;
+
+            // 去除頭尾空白（與 String.trim 相同：所有 <= 0x20 的字元）
+            while (start < end && isTrimmable(buffer.get(start))) start++;
+            while (end > start && isTrimmable(buffer.get(end - 1))) end--;
+            if (start == end || isCommentLine(start, end)) {
+                continue;
+            }
+            cursor = start;
+            lineEnd = end;
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isTrimmable(byte b) {
+        return b >= 0 && b <= ' ';
+    }
+
+    private boolean isCommentLine(int start, int end) {
+        if (end - start >= 2 && buffer.get(start) == '*' && buffer.get(start + 1) == '/') {
+            return true;
+        }
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b < 0) {
+                return true; // 非 ASCII（Big5 註解）
+            }
+            if (b == '/' && i + 1 < end && buffer.get(i + 1) == '*') {
+                return true;
+            }
+            if (b == '=' && i + 2 < end && buffer.get(i + 1) == '=' && buffer.get(i + 2) == '=') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void requireLine(String what) throws IOException {
+        if (!nextDataLine()) {
+            throw new IOException("Unexpected end of DAG file " + filename + " while reading " + what);
+        }
+    }
+
+    /**
+     * 找出目前資料行的下一個 token
+     * @return token 起點；終點留在 cursor
+     */
+    private int requireToken() throws IOException {
+        int i = cursor;
+        while (i < lineEnd && isSeparator(buffer.get(i))) i++;
+        if (i >= lineEnd) {
+            throw new IOException("Missing value in DAG file " + filename + " near byte " + i);
+        }
+        int start = i;
+        while (i < lineEnd && !isSeparator(buffer.get(i))) i++;
+        cursor = i;
+        return start;
+    }
+
+    // 與 split("\\s+") 相同的空白字元
+    private static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == 0x0B || b == '\f' || b == '\r';
+    }
+
+    private int parseInt(int start) {
+        int end = cursor;
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+        int digits = end - i;
+        if (digits > 0 && digits <= 9) {
+            int value = 0;
+            for (; i < end; i++) {
+                int d = buffer.get(i) - '0';
+                if (d < 0 || d > 9) {
+                    return Integer.parseInt(tokenString(start, end));
+                }
+                value = value * 10 + d;
+            }
+            return negative ? -value : value;
+        }
+        return Integer.parseInt(tokenString(start, end));
+    }
+
+    /**
+     * 解析浮點數。常見的十進位格式走快速路徑：尾數 < 2^53 且十的次方 <= 22 時，
+     * 一次乘或除即可得到正確捨入的結果（與 Double.parseDouble 相同）；其餘格式交給 Double.parseDouble。
+     */
+    private double parseDouble(int start) {
+        int end = cursor;
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean seenDot = false;
+        for (; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b >= '0' && b <= '9') {
+                digits++;
+                if (mantissa != 0 || b != '0') {
+                    significantDigits++;
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                if (seenDot) exponent--;
+            } else if (b == '.' && !seenDot) {
+                seenDot = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0 || significantDigits > 18) {
+            return Double.parseDouble(tokenString(start, end));
+        }
+        if (i < end) {
+            byte b = buffer.get(i);
+            if (b != 'e' && b != 'E') {
+                return Double.parseDouble(tokenString(start, end));
+            }
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+                negativeExponent = buffer.get(i) == '-';
+                i++;
+            }
+            int explicitExponent = 0;
+            int exponentDigits = 0;
+            for (; i < end; i++) {
+                int d = buffer.get(i) - '0';
+                if (d < 0 || d > 9 || exponentDigits >= 4) {
+                    return Double.parseDouble(tokenString(start, end));
+                }
+                explicitExponent = explicitExponent * 10 + d;
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return Double.parseDouble(tokenString(start, end));
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        if (mantissa < (1L << 53) && exponent >= -22 && exponent <= 22) {
+            double value = (exponent >= 0) ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(tokenString(start, end));
+    }
+
+    private String tokenString(int start, int end) {
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[length];
+        }
+        for (int i = 0; i < length; i++) {
+            scratch[i] = buffer.get(start + i);
+        }
+        return new String(scratch, 0, length, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,234 @@
+package core;
+
+import java.util.Arrays;
+
+/**
+ * DeltaEvaluator類別：單一任務換處理器 (reassignment) 的增量 makespan 評估
+ * 先以 reset 記錄基準排程的完成時間，之後 evaluateMove 只重新模擬
+ * 執行順序中從被移動任務開始、真正受影響的後綴：
+ * 只有「處理器可用時間與基準不同」或「有前驅完成時間改變」的任務才重新計算，
+ * 一旦所有處理器與待處理的數據後繼都回到基準狀態便提前結束。
+ *
+ * 結果與完整重新模擬 (EvaluationContext.evaluate) 的 makespan 完全相同。
+ * 每個執行緒持有一份 (thread-confined)，穩定狀態下不配置記憶體。
+ */
+public final class DeltaEvaluator {
+    private static final ThreadLocal<DeltaEvaluator> CURRENT = ThreadLocal.withInitial(DeltaEvaluator::new);
+
+    private DAG dag;
+    private int taskCount;
+    private int processorCount;
+    private int orderLength;
+    private double baselineMakespan;
+
+    // 基準排程
+    private int[] assignment = new int[0];
+    private int[] order = new int[0];
+    private int[] position = new int[0];        // position[task] = 在執行順序中的位置，-1 表示不在順序中
+    private double[] baseFinish = new double[0];
+    private double[] prefixMax = new double[1];  // prefixMax[i] = 位置 < i 的最大完成時間
+    private double[] suffixMax = new double[1];  // suffixMax[i] = 位置 >= i 的最大完成時間
+    private int[] processorOffsets = new int[1]; // 每個處理器上的任務位置 (遞增)，CSR 形式
+    private int[] processorPositions = new int[0];
+    private int[] processorCursor = new int[0];
+
+    // 評估用暫存
+    private double[] newFinish = new double[0];
+    private boolean[] dirty = new boolean[0];
+    private double[] baseReady = new double[0];
+    private double[] currentReady = new double[0];
+
+    /**
+     * 取得目前執行緒專用的增量評估器
+     */
+    public static DeltaEvaluator current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 以給定的處理器分配與執行順序建立基準（兩個陣列皆會被複製）。
+     * @return 基準排程的 makespan
+     */
+    public double reset(DAG dag, int[] assignment, int[] order) {
+        this.dag = dag;
+        this.taskCount = dag.getTaskCount();
+        this.processorCount = dag.getProcessorCount();
+        this.orderLength = order.length;
+        ensureCapacity();
+
+        System.arraycopy(assignment, 0, this.assignment, 0, taskCount);
+        System.arraycopy(order, 0, this.order, 0, orderLength);
+        Arrays.fill(position, 0, taskCount, -1);
+        for (int i = 0; i < orderLength; i++) {
+            position[order[i]] = i;
+        }
+
+        EvaluationContext context = EvaluationContext.current();
+        baselineMakespan = context.evaluate(dag, assignment, order);
+        System.arraycopy(context.getFinishTimes(), 0, baseFinish, 0, taskCount);
+
+        // 依位置計算完成時間的前綴/後綴最大值
+        prefixMax[0] = 0.0;
+        for (int i = 0; i < orderLength; i++) {
+            prefixMax[i + 1] = Math.max(prefixMax[i], baseFinish[order[i]]);
+        }
+        // 不在順序中的任務完成時間為 0，不影響最大值
+        suffixMax[orderLength] = 0.0;
+        for (int i = orderLength - 1; i >= 0; i--) {
+            suffixMax[i] = Math.max(suffixMax[i + 1], baseFinish[order[i]]);
+        }
+
+        // 以計數排序建立每個處理器上的任務位置列表
+        Arrays.fill(processorOffsets, 0, processorCount + 1, 0);
+        for (int i = 0; i < orderLength; i++) {
+            processorOffsets[this.assignment[order[i]] + 1]++;
+        }
+        for (int p = 0; p < processorCount; p++) {
+            processorOffsets[p + 1] += processorOffsets[p];
+        }
+        int[] cursor = processorCursor;
+        System.arraycopy(processorOffsets, 0, cursor, 0, processorCount);
+        for (int i = 0; i < orderLength; i++) {
+            int p = this.assignment[order[i]];
+            processorPositions[cursor[p]++] = i;
+        }
+        return baselineMakespan;
+    }
+
+    private void ensureCapacity() {
+        if (assignment.length < taskCount) {
+            assignment = new int[taskCount];
+            position = new int[taskCount];
+            baseFinish = new double[taskCount];
+            newFinish = new double[taskCount];
+            dirty = new boolean[taskCount];
+        }
+        if (order.length < orderLength) {
+            order = new int[orderLength];
+            processorPositions = new int[orderLength];
+            prefixMax = new double[orderLength + 1];
+            suffixMax = new double[orderLength + 1];
+        }
+        if (baseReady.length < processorCount) {
+            baseReady = new double[processorCount];
+            currentReady = new double[processorCount];
+            processorOffsets = new int[processorCount + 1];
+            processorCursor = new int[processorCount];
+        }
+    }
+
+    public double getBaselineMakespan() {
+        return baselineMakespan;
+    }
+
+    /**
+     * 評估將任務 taskId 移到 targetProcessor 後的 makespan（不修改基準）
+     */
+    public double evaluateMove(int taskId, int targetProcessor) {
+        int originalProcessor = assignment[taskId];
+        int start = position[taskId];
+        if (targetProcessor == originalProcessor || start < 0) {
+            return baselineMakespan;
+        }
+
+        // 1. 移動點之前的處理器可用時間 = 該處理器上前一個任務的完成時間
+        for (int p = 0; p < processorCount; p++) {
+            double ready = readyBefore(p, start);
+            baseReady[p] = ready;
+            currentReady[p] = ready;
+        }
+
+        CsrGraph graph = dag.getGraph();
+        int[] predOffsets = graph.getPredecessorOffsets();
+        int[] predSources = graph.getPredecessorSources();
+        int[] predEdgeIds = graph.getPredecessorEdgeIds();
+        int[] succOffsets = graph.getSuccessorOffsets();
+        int[] succTargets = graph.getSuccessorTargets();
+
+        int divergentProcessors = 0;  // 可用時間與基準不同的處理器數
+        int pendingDirty = 0;         // 已標記但尚未處理的數據後繼數
+        double processedMax = 0.0;
+        int i = start;
+
+        for (; i < orderLength; i++) {
+            if (divergentProcessors == 0 && pendingDirty == 0 && i > start) {
+                break; // 之後的模擬與基準完全相同
+            }
+
+            int u = order[i];
+            int baseProcessor = assignment[u];
+            int processorId = (u == taskId) ? targetProcessor : baseProcessor;
+            boolean wasDirty = dirty[u];
+            if (wasDirty) {
+                dirty[u] = false;
+                pendingDirty--;
+            }
+
+            double finish;
+            if (u != taskId && !wasDirty && currentReady[processorId] == baseReady[processorId]) {
+                finish = baseFinish[u];
+            } else {
+                double processorReadyTime = currentReady[processorId];
+                double maxPredAFT = 0.0;
+                for (int e = predOffsets[u], end = predOffsets[u + 1]; e < end; e++) {
+                    int predId = predSources[e];
+                    int predProcessor = (predId == taskId) ? targetProcessor : assignment[predId];
+                    double predFinish = (position[predId] >= start) ? newFinish[predId] : baseFinish[predId];
+                    double dataReadyTime = predFinish + dag.getEdgeCommunicationCost(predEdgeIds[e], predProcessor, processorId);
+                    if (dataReadyTime > maxPredAFT) {
+                        maxPredAFT = dataReadyTime;
+                    }
+                }
+                double ast = (processorReadyTime > maxPredAFT) ? processorReadyTime : maxPredAFT;
+                finish = ast + dag.getComputationCost(u, processorId);
+            }
+            newFinish[u] = finish;
+            if (finish > processedMax) {
+                processedMax = finish;
+            }
+
+            // 完成時間改變（或被移動的任務本身，其後繼的通訊成本已改變）：標記數據後繼
+            if (finish != baseFinish[u] || u == taskId) {
+                for (int e = succOffsets[u], end = succOffsets[u + 1]; e < end; e++) {
+                    int succ = succTargets[e];
+                    if (!dirty[succ]) {
+                        dirty[succ] = true;
+                        pendingDirty++;
+                    }
+                }
+            }
+
+            // 更新處理器可用時間與分歧計數
+            divergentProcessors -= divergence(baseProcessor) + ((processorId != baseProcessor) ? divergence(processorId) : 0);
+            baseReady[baseProcessor] = baseFinish[u];
+            currentReady[processorId] = finish;
+            divergentProcessors += divergence(baseProcessor) + ((processorId != baseProcessor) ? divergence(processorId) : 0);
+        }
+
+        // 提前結束時 pendingDirty 必為 0，所有標記皆已在處理時清除
+        return Math.max(prefixMax[start], Math.max(processedMax, suffixMax[i]));
+    }
+
+    private int divergence(int processorId) {
+        return (baseReady[processorId] != currentReady[processorId]) ? 1 : 0;
+    }
+
+    /**
+     * 處理器 p 在執行順序位置 pos 之前的最後完成時間（基準排程）
+     */
+    private double readyBefore(int p, int pos) {
+        int lo = processorOffsets[p];
+        int hi = processorOffsets[p + 1] - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (processorPositions[mid] < pos) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return (found == -1) ? 0.0 : baseFinish[order[processorPositions[found]]];
+    }
+}
@@ -0,0 +1,194 @@
+package core;
+
+import java.util.Arrays;
+
+/**
+ * EvaluationContext類別：可重複使用的排程模擬緩衝區
+ * 每個執行緒持有一份 (thread-confined)，預先配置的原始型別陣列在穩定狀態下
+ * 不會再配置任何記憶體，讓 Schedule.evaluateFitness 與局部搜尋可以頻繁呼叫。
+ */
+public final class EvaluationContext {
+    private static final ThreadLocal<EvaluationContext> CURRENT = ThreadLocal.withInitial(EvaluationContext::new);
+
+    private double[] finishTimes = new double[0];
+    private int[] parentLinks = new int[0];
+    private double[] processorReadyTimes = new double[0];
+    private int[] lastTaskOnProcessor = new int[0];
+    private ProcessorTimeline[] timelines = new ProcessorTimeline[0]; // 僅 INSERTION 使用
+    private int exitTask = -1;
+
+    /**
+     * 取得目前執行緒專用的評估緩衝區
+     */
+    public static EvaluationContext current() {
+        return CURRENT.get();
+    }
+
+    private void ensureCapacity(int taskCount, int processorCount) {
+        if (finishTimes.length < taskCount) {
+            finishTimes = new double[taskCount];
+            parentLinks = new int[taskCount];
+        }
+        if (processorReadyTimes.length < processorCount) {
+            processorReadyTimes = new double[processorCount];
+            lastTaskOnProcessor = new int[processorCount];
+        }
+    }
+
+    /**
+     * 依照給定的處理器分配與執行順序模擬排程，並記錄每個任務在關鍵路徑上的前一個節點。
+     * @param dag The DAG.
+     * @param assignment assignment[i] = 任務 i 的處理器
+     * @param order 任務執行順序
+     * @return The makespan.
+     */
+    public double evaluate(DAG dag, int[] assignment, int[] order) {
+        return evaluate(dag, assignment, order, SchedulingPolicy.APPEND);
+    }
+
+    /**
+     * **NEW**: 以指定的放置方式模擬排程。
+     * INSERTION 時每個任務放入其處理器上最早可容納的閒置時段（執行順序仍決定放置的先後）。
+     * @return The makespan.
+     */
+    public double evaluate(DAG dag, int[] assignment, int[] order, SchedulingPolicy policy) {
+        if (policy == SchedulingPolicy.INSERTION) {
+            return evaluateInsertion(dag, assignment, order);
+        }
+        int taskCount = dag.getTaskCount();
+        int processorCount = dag.getProcessorCount();
+        ensureCapacity(taskCount, processorCount);
+
+        double[] finish = this.finishTimes;
+        int[] parents = this.parentLinks;
+        double[] processorReady = this.processorReadyTimes;
+        int[] lastOnProcessor = this.lastTaskOnProcessor;
+        Arrays.fill(finish, 0, taskCount, 0.0);
+        Arrays.fill(parents, 0, taskCount, -1);
+        Arrays.fill(processorReady, 0, processorCount, 0.0);
+        Arrays.fill(lastOnProcessor, 0, processorCount, -1);
+
+        CsrGraph graph = dag.getGraph();
+        int[] predOffsets = graph.getPredecessorOffsets();
+        int[] predSources = graph.getPredecessorSources();
+        int[] predEdgeIds = graph.getPredecessorEdgeIds();
+
+        for (int taskId : order) {
+            int processorId = assignment[taskId];
+            double processorReadyTime = processorReady[processorId];
+
+            double maxPredAFT = 0.0;
+            int dataCriticalPred = -1;
+            for (int e = predOffsets[taskId], end = predOffsets[taskId + 1]; e < end; e++) {
+                int predId = predSources[e];
+                double dataReadyTime = finish[predId] + dag.getEdgeCommunicationCost(predEdgeIds[e], assignment[predId], processorId);
+                if (dataReadyTime > maxPredAFT) {
+                    maxPredAFT = dataReadyTime;
+                    dataCriticalPred = predId;
+                }
+            }
+
+            double ast;
+            if (processorReadyTime > maxPredAFT) {
+                ast = processorReadyTime;
+                parents[taskId] = lastOnProcessor[processorId];
+            } else {
+                ast = maxPredAFT;
+                parents[taskId] = dataCriticalPred;
+            }
+
+            double aft = ast + dag.getComputationCost(taskId, processorId);
+            finish[taskId] = aft;
+            processorReady[processorId] = aft;
+            lastOnProcessor[processorId] = taskId;
+        }
+
+        return recordExit(taskCount);
+    }
+
+    private double evaluateInsertion(DAG dag, int[] assignment, int[] order) {
+        int taskCount = dag.getTaskCount();
+        int processorCount = dag.getProcessorCount();
+        ensureCapacity(taskCount, processorCount);
+        if (timelines.length < processorCount) {
+            ProcessorTimeline[] grown = Arrays.copyOf(timelines, processorCount);
+            for (int p = timelines.length; p < processorCount; p++) {
+                grown[p] = new ProcessorTimeline();
+            }
+            timelines = grown;
+        }
+
+        double[] finish = this.finishTimes;
+        int[] parents = this.parentLinks;
+        Arrays.fill(finish, 0, taskCount, 0.0);
+        Arrays.fill(parents, 0, taskCount, -1);
+        for (int p = 0; p < processorCount; p++) {
+            timelines[p].reset();
+        }
+
+        CsrGraph graph = dag.getGraph();
+        int[] predOffsets = graph.getPredecessorOffsets();
+        int[] predSources = graph.getPredecessorSources();
+        int[] predEdgeIds = graph.getPredecessorEdgeIds();
+
+        for (int taskId : order) {
+            int processorId = assignment[taskId];
+
+            double maxPredAFT = 0.0;
+            int dataCriticalPred = -1;
+            for (int e = predOffsets[taskId], end = predOffsets[taskId + 1]; e < end; e++) {
+                int predId = predSources[e];
+                double dataReadyTime = finish[predId] + dag.getEdgeCommunicationCost(predEdgeIds[e], assignment[predId], processorId);
+                if (dataReadyTime > maxPredAFT) {
+                    maxPredAFT = dataReadyTime;
+                    dataCriticalPred = predId;
+                }
+            }
+
+            double cost = dag.getComputationCost(taskId, processorId);
+            ProcessorTimeline timeline = timelines[processorId];
+            double ast = timeline.earliestStart(maxPredAFT, cost);
+            int previousOnProcessor = timeline.occupy(ast, cost, taskId);
+            // 被處理器延後時，關鍵前驅為在 ast 完成的任務
+            parents[taskId] = (ast > maxPredAFT) ? previousOnProcessor : dataCriticalPred;
+            finish[taskId] = ast + cost;
+        }
+
+        return recordExit(taskCount);
+    }
+
+    private double recordExit(int taskCount) {
+        double[] finish = this.finishTimes;
+        double makespan = 0.0;
+        int exitNodeId = -1;
+        for (int i = 0; i < taskCount; i++) {
+            if (finish[i] > makespan) {
+                makespan = finish[i];
+                exitNodeId = i;
+            }
+        }
+        this.exitTask = exitNodeId;
+        return makespan;
+    }
+
+    /**
+     * 最近一次 evaluate 的各任務完成時間（緩衝區本身，長度可能大於任務數）
+     */
+    public double[] getFinishTimes() {
+        return finishTimes;
+    }
+
+    /**
+     * 最近一次 evaluate 的關鍵路徑鏈結：parentLinks[i] 為任務 i 的關鍵前驅，-1 表示無
+     */
+    public int[] getParentLinks() {
+        return parentLinks;
+    }
+
+    /**
+     * 最近一次 evaluate 中完成時間最晚的任務（關鍵路徑終點），-1 表示無
+     */
+    public int getExitTask() {
+        return exitTask;
+    }
+}
@@ -1,6 +1,7 @@
 package core;
 
 import java.util.*;
+import java.util.stream.IntStream;
 
 /**
  * Heuristics類別：提供啟發式演算法來生成初始解
@@ -30,19 +31,26 @@ public class Heuristics {
 
         // 2. Calculate upward ranks by traversing tasks in reverse topological order
         double[] upwardRanks = new double[taskCount];
-        List<Integer> topologicalOrder = dag.getTopologicalOrder();
-        Collections.reverse(topologicalOrder); // From exit tasks to entry tasks
+        int[] topologicalOrder = dag.getTopologicalOrderArray();
+        double avgCommRate = dag.getAverageCommunicationRate(); // **PERFORMANCE**: Hoisted out of the edge loop
 
-        for (int taskId : topologicalOrder) {
-            Task task = dag.getTask(taskId);
+        CsrGraph graph = dag.getGraph();
+        int[] succOffsets = graph.getSuccessorOffsets();
+        int[] succTargets = graph.getSuccessorTargets();
+        int[] succVolumes = graph.getSuccessorVolumes();
+
+        // From exit tasks to entry tasks
+        for (int i = topologicalOrder.length - 1; i >= 0; i--) {
+            int taskId = topologicalOrder[i];
             double maxSuccessorRank = 0;
-            for (int successorId : task.getSuccessors()) {
+            for (int e = succOffsets[taskId], end = succOffsets[taskId + 1]; e < end; e++) {
+                int successorId = succTargets[e];
                 // Calculate average communication cost
                 double avgCommCost = 0;
-                int dataVolume = task.getDataTransferVolume(successorId);
+                int dataVolume = succVolumes[e];
                 if (dataVolume > 0) {
                     // This is a simplified avg comm cost, assuming non-zero transfer rates
-                    avgCommCost = dataVolume * dag.getAverageCommunicationRate();
+                    avgCommCost = dataVolume * avgCommRate;
                 }
                 maxSuccessorRank = Math.max(maxSuccessorRank, avgCommCost + upwardRanks[successorId]);
             }
@@ -94,6 +102,30 @@ public class Heuristics {
      * 產生一個高品質的初始調度方案
      */
     public static Schedule createHeftSchedule(DAG dag) {
+        return createHeftSchedule(dag, null, SchedulingPolicy.APPEND);
+    }
+
+    /**
+     * **NEW**: HEFT 的候選列表版本：每個任務只評估其候選處理器，適用於處理器很多的平台
+     * @param candidates 每個任務的候選處理器；為 null 時評估所有處理器
+     */
+    public static Schedule createHeftSchedule(DAG dag, ProcessorCandidates candidates) {
+        return createHeftSchedule(dag, candidates, SchedulingPolicy.APPEND);
+    }
+
+    /**
+     * **NEW**: 以指定放置方式執行 HEFT（INSERTION 即原始論文中的插入式 HEFT）
+     */
+    public static Schedule createHeftSchedule(DAG dag, SchedulingPolicy policy) {
+        return createHeftSchedule(dag, null, policy);
+    }
+
+    /**
+     * **NEW**: HEFT 的完整版本
+     * @param candidates 每個任務的候選處理器；為 null 時評估所有處理器
+     * @param policy APPEND 時任務接在處理器最後一個任務之後；INSERTION 時可放入先前的閒置時段
+     */
+    public static Schedule createHeftSchedule(DAG dag, ProcessorCandidates candidates, SchedulingPolicy policy) {
         int taskCount = dag.getTaskCount();
         int processorCount = dag.getProcessorCount();
         
@@ -108,49 +140,115 @@ public class Heuristics {
         double[] taskFinishTimes = new double[taskCount];
         Arrays.fill(taskFinishTimes, -1.0);
         
-        Processor[] processors = new Processor[processorCount];
-        for (int i = 0; i < processorCount; i++) {
-            processors[i] = new Processor(i);
+        // 處理器準備時間 (簡易模擬，不需精確的 TaskExecution)
+        double[] processorReadyTimes = new double[processorCount];
+        // 插入式排程：每個處理器的閒置時段索引
+        ProcessorTimeline[] timelines = null;
+        if (policy == SchedulingPolicy.INSERTION) {
+            timelines = new ProcessorTimeline[processorCount];
+            for (int pId = 0; pId < processorCount; pId++) {
+                timelines[pId] = new ProcessorTimeline();
+            }
         }
 
+        CsrGraph graph = dag.getGraph();
+        int[] predOffsets = graph.getPredecessorOffsets();
+        int[] predSources = graph.getPredecessorSources();
+        int[] predEdgeIds = graph.getPredecessorEdgeIds();
+        int[] candidateProcessors = (candidates != null && !candidates.coversAllProcessors()) ? candidates.getProcessorArray() : null;
+        int candidateCount = (candidateProcessors != null) ? candidates.getSize() : processorCount;
+
+        // **PERFORMANCE**: 評估所有處理器時，數據就緒時間與 EFT 以整列計算 (RowKernel，可為 SIMD)
+        RowKernel kernel = RowKernels.current();
+        CommunicationCostTable commTable = dag.getCommunicationCostTable();
+        double[] dataReadyRow = new double[processorCount];
+        double[] finishTimeRow = new double[processorCount];
+
         for (Task task : taskPriorityList) {
             int taskId = task.getTaskId();
             double minEFT = Double.MAX_VALUE;
             int bestProcessorId = -1;
+            double bestStartTime = 0.0;
 
-            for (int pId = 0; pId < processorCount; pId++) {
-                double earliestStartTime = processors[pId].getReadyTime();
-
-                // 計算來自前驅任務的數據到達時間
-                double dataReadyTime = 0;
-                for (int predId : task.getPredecessors()) {
-                    int predProcessorId = assignment[predId];
-                    double predFinishTime = taskFinishTimes[predId];
-                    double commCost = dag.getCommunicationCost(predId, taskId, predProcessorId, pId);
-                    dataReadyTime = Math.max(dataReadyTime, predFinishTime + commCost);
+            if (candidateProcessors == null) {
+                Arrays.fill(dataReadyRow, 0.0);
+                for (int e = predOffsets[taskId], end = predOffsets[taskId + 1]; e < end; e++) {
+                    int predId = predSources[e];
+                    commTable.accumulateDataReady(kernel, predEdgeIds[e], assignment[predId], taskFinishTimes[predId], dataReadyRow, 0);
                 }
+                if (timelines == null) {
+                    kernel.finishTimes(processorReadyTimes, dataReadyRow, 0, task.getComputationCosts(), finishTimeRow, 0, processorCount);
+                    for (int pId = 0; pId < processorCount; pId++) {
+                        if (finishTimeRow[pId] < minEFT) {
+                            minEFT = finishTimeRow[pId];
+                            bestProcessorId = pId;
+                        }
+                    }
+                } else {
+                    for (int pId = 0; pId < processorCount; pId++) {
+                        double cost = task.getComputationCost(pId);
+                        double startTime = timelines[pId].earliestStart(dataReadyRow[pId], cost);
+                        if (startTime + cost < minEFT) {
+                            minEFT = startTime + cost;
+                            bestProcessorId = pId;
+                            bestStartTime = startTime;
+                        }
+                    }
+                }
+            } else {
+                for (int j = 0; j < candidateCount; j++) {
+                    int pId = candidateProcessors[taskId * candidateCount + j];
 
-                earliestStartTime = Math.max(earliestStartTime, dataReadyTime);
-                double finishTime = earliestStartTime + task.getComputationCost(pId);
+                    // 計算來自前驅任務的數據到達時間
+                    double dataReadyTime = 0;
+                    for (int e = predOffsets[taskId], end = predOffsets[taskId + 1]; e < end; e++) {
+                        int predId = predSources[e];
+                        int predProcessorId = assignment[predId];
+                        double predFinishTime = taskFinishTimes[predId];
+                        double commCost = dag.getEdgeCommunicationCost(predEdgeIds[e], predProcessorId, pId);
+                        dataReadyTime = Math.max(dataReadyTime, predFinishTime + commCost);
+                    }
 
-                if (finishTime < minEFT) {
-                    minEFT = finishTime;
-                    bestProcessorId = pId;
+                    double cost = task.getComputationCost(pId);
+                    double earliestStartTime = (timelines == null)
+                        ? Math.max(processorReadyTimes[pId], dataReadyTime)
+                        : timelines[pId].earliestStart(dataReadyTime, cost);
+                    double finishTime = earliestStartTime + cost;
+
+                    if (finishTime < minEFT) {
+                        minEFT = finishTime;
+                        bestProcessorId = pId;
+                        bestStartTime = earliestStartTime;
+                    }
                 }
             }
-            
+
             // 分配任務
             assignment[taskId] = bestProcessorId;
             taskFinishTimes[taskId] = minEFT;
             
-            // 更新處理器狀態 (簡易模擬，不需精確的 TaskExecution)
-            processors[bestProcessorId].setReadyTime(minEFT);
+            // 更新處理器狀態
+            if (timelines == null) {
+                processorReadyTimes[bestProcessorId] = minEFT;
+            } else {
+                timelines[bestProcessorId].occupy(bestStartTime, task.getComputationCost(bestProcessorId), taskId);
+            }
         }
 
         // 創建一個包含分配和排序的完整 Schedule
         Schedule schedule = new Schedule(dag, assignment);
         schedule.setTaskOrder(taskOrder);
-        schedule.setMakespan(taskFinishTimes[taskOrder.get(taskOrder.size() - 1)]);
+        if (timelines == null) {
+            schedule.setMakespan(taskFinishTimes[taskOrder.get(taskOrder.size() - 1)]);
+        } else {
+            // 插入後最後排定的任務不一定最晚完成
+            double makespan = 0.0;
+            for (double finishTime : taskFinishTimes) {
+                makespan = Math.max(makespan, finishTime);
+            }
+            schedule.setSchedulingPolicy(policy);
+            schedule.setMakespan(makespan);
+        }
         
         return schedule;
     }
@@ -161,8 +259,7 @@ public class Heuristics {
      * **NEW**: 創建一個基於 PEFT 演算法的排程
      */
     public static Schedule createPeftSchedule(DAG dag) {
-        double[][] oct = computeOptimisticCostTable(dag);
-        dag.setOctCache(oct); // Cache for later use in mutation
+        double[][] oct = getOptimisticCostTable(dag); // Cached on the DAG for later reuse
 
         List<Task> taskPriorityList = getPeftRankedTasks(dag, oct);
         List<Integer> taskOrder = new ArrayList<>();
@@ -181,6 +278,11 @@ public class Heuristics {
             processors[i] = new Processor(i);
         }
 
+        CsrGraph graph = dag.getGraph();
+        int[] predOffsets = graph.getPredecessorOffsets();
+        int[] predSources = graph.getPredecessorSources();
+        int[] predEdgeIds = graph.getPredecessorEdgeIds();
+
         for (Task task : taskPriorityList) {
             int taskId = task.getTaskId();
             double minPredictedEFT = Double.MAX_VALUE;
@@ -190,11 +292,12 @@ public class Heuristics {
             for (int pId = 0; pId < dag.getProcessorCount(); pId++) {
                 double earliestReadyTime = processors[pId].getReadyTime();
                 double dataReadyTime = 0;
-                for (int predId : task.getPredecessors()) {
+                for (int e = predOffsets[taskId], end = predOffsets[taskId + 1]; e < end; e++) {
+                    int predId = predSources[e];
                     int predProcessorId = assignment[predId];
                     double predFinishTime = taskFinishTimes[predId];
                     if (predFinishTime == -1.0) continue; // Skip predecessors not yet scheduled
-                    double commCost = dag.getCommunicationCost(predId, taskId, predProcessorId, pId);
+                    double commCost = dag.getEdgeCommunicationCost(predEdgeIds[e], predProcessorId, pId);
                     dataReadyTime = Math.max(dataReadyTime, predFinishTime + commCost);
                 }
                 double est = Math.max(earliestReadyTime, dataReadyTime);
@@ -223,70 +326,141 @@ public class Heuristics {
     
     private static List<Task> getPeftRankedTasks(DAG dag, double[][] oct) {
         // Calculate upward ranks based on OCT
-        Map<Integer, Double> upwardRanks = new HashMap<>();
-        List<Integer> topologicalOrder = dag.getTopologicalOrder();
-        Collections.reverse(topologicalOrder); // Process from exit nodes
+        double[] upwardRanks = new double[dag.getTaskCount()];
+        int[] topologicalOrder = dag.getTopologicalOrderArray();
+        CsrGraph graph = dag.getGraph();
+        int[] succOffsets = graph.getSuccessorOffsets();
+        int[] succTargets = graph.getSuccessorTargets();
 
-        for (int taskId : topologicalOrder) {
+        // Process from exit nodes
+        for (int i = topologicalOrder.length - 1; i >= 0; i--) {
+            int taskId = topologicalOrder[i];
             double maxSuccRank = 0;
-            for (int succId : dag.getTask(taskId).getSuccessors()) {
-                maxSuccRank = Math.max(maxSuccRank, upwardRanks.getOrDefault(succId, 0.0));
+            for (int e = succOffsets[taskId], end = succOffsets[taskId + 1]; e < end; e++) {
+                maxSuccRank = Math.max(maxSuccRank, upwardRanks[succTargets[e]]);
             }
             // The rank is the average OCT plus the max successor rank
             double avgOct = Arrays.stream(oct[taskId]).average().orElse(0);
-            upwardRanks.put(taskId, avgOct + maxSuccRank);
+            upwardRanks[taskId] = avgOct + maxSuccRank;
         }
         
         List<Task> rankedTasks = new ArrayList<>(dag.getTasks());
-        rankedTasks.sort((t1, t2) -> upwardRanks.get(t2.getTaskId()).compareTo(upwardRanks.get(t1.getTaskId())));
+        rankedTasks.sort((t1, t2) -> Double.compare(upwardRanks[t2.getTaskId()], upwardRanks[t1.getTaskId()]));
         return rankedTasks;
     }
 
+    /**
+     * **NEW**: Returns the Optimistic Cost Table of the DAG, computing it once and caching it on the DAG.
+     * @param dag The DAG.
+     * @return oct[task][processor]
+     */
+    public static double[][] getOptimisticCostTable(DAG dag) {
+        double[][] oct = dag.getOctCache();
+        if (oct == null) {
+            oct = computeOptimisticCostTable(dag);
+            dag.setOctCache(oct);
+        }
+        return oct;
+    }
+
+    // Levels with at least this many tasks are computed in parallel
+    private static final int PARALLEL_LEVEL_THRESHOLD = 256;
+
+    /**
+     * **REVISED**: Computes the OCT exactly in a single sweep from the exit tasks upwards.
+     * oct[t][p] only depends on the rows of t's successors, so once every successor row is final
+     * the row of t is final too; repeating the sweep cannot change it.
+     * Tasks are grouped by height (longest edge count to an exit task); tasks of the same height
+     * share no edges and wide levels are computed in parallel.
+     */
     private static double[][] computeOptimisticCostTable(DAG dag) {
         int taskCount = dag.getTaskCount();
         int processorCount = dag.getProcessorCount();
         double[][] oct = new double[taskCount][processorCount];
-        List<Integer> topologicalOrder = dag.getTopologicalOrder();
-        Collections.reverse(topologicalOrder); // from exit to entry
+        double[] minOct = new double[taskCount]; // Row minimum, used by the uniform-rate fast path
 
-        for (int taskId : topologicalOrder) {
-            Task task = dag.getTask(taskId);
-            for (int pId = 0; pId < processorCount; pId++) {
-                double avgCompCost = task.getComputationCost(pId);
-                
-                double maxSuccCost = 0;
-                if (!task.getSuccessors().isEmpty()) {
-                    for (int succId : task.getSuccessors()) {
-                        double minSuccOct = Double.MAX_VALUE;
-                        for (int succPId = 0; succPId < processorCount; succPId++) {
-                            double commCost = dag.getCommunicationCost(taskId, succId, pId, succPId);
-                            minSuccOct = Math.min(minSuccOct, oct[succId][succPId] + commCost);
-                        }
-                        maxSuccCost = Math.max(maxSuccCost, minSuccOct);
-                    }
+        CsrGraph graph = dag.getGraph();
+        int[] succOffsets = graph.getSuccessorOffsets();
+        int[] succTargets = graph.getSuccessorTargets();
+
+        // 1. Group tasks by height (counting sort), exit tasks first
+        int[] topologicalOrder = dag.getTopologicalOrderArray();
+        int[] height = new int[taskCount];
+        int maxHeight = 0;
+        for (int i = topologicalOrder.length - 1; i >= 0; i--) {
+            int taskId = topologicalOrder[i];
+            int h = 0;
+            for (int e = succOffsets[taskId], end = succOffsets[taskId + 1]; e < end; e++) {
+                h = Math.max(h, height[succTargets[e]] + 1);
+            }
+            height[taskId] = h;
+            maxHeight = Math.max(maxHeight, h);
+        }
+        int[] levelOffsets = new int[maxHeight + 2];
+        for (int taskId = 0; taskId < taskCount; taskId++) {
+            levelOffsets[height[taskId] + 1]++;
+        }
+        for (int h = 0; h <= maxHeight; h++) {
+            levelOffsets[h + 1] += levelOffsets[h];
+        }
+        int[] levelTasks = new int[taskCount];
+        int[] cursor = Arrays.copyOf(levelOffsets, maxHeight + 1);
+        for (int taskId = 0; taskId < taskCount; taskId++) {
+            levelTasks[cursor[height[taskId]]++] = taskId;
+        }
+
+        // 2. Sweep the levels from the exit tasks upwards
+        for (int h = 0; h <= maxHeight; h++) {
+            int start = levelOffsets[h];
+            int end = levelOffsets[h + 1];
+            if (end - start >= PARALLEL_LEVEL_THRESHOLD) {
+                IntStream.range(start, end).parallel()
+                         .forEach(i -> computeOctRow(dag, levelTasks[i], oct, minOct));
+            } else {
+                for (int i = start; i < end; i++) {
+                    computeOctRow(dag, levelTasks[i], oct, minOct);
                 }
-                oct[taskId][pId] = avgCompCost + maxSuccCost;
             }
         }
 
-        // This requires iterating until values converge. Let's do a few passes.
-        // For a simple implementation, one pass might be enough, but let's do more.
-        for(int iter = 0; iter < taskCount; iter++) { // Iterate to propagate ranks
-             for (int taskId : topologicalOrder) {
-                 for(int procId = 0; procId < dag.getProcessorCount(); procId++) {
-                    double maxSuccCost = 0;
-                    for (int succId : dag.getTask(taskId).getSuccessors()) {
-                         double minSuccEft = Double.MAX_VALUE;
-                         for(int succProcId = 0; succProcId < dag.getProcessorCount(); succProcId++) {
-                             minSuccEft = Math.min(minSuccEft, oct[succId][succProcId] + dag.getCommunicationCost(taskId, succId, procId, succProcId));
-                         }
-                         maxSuccCost = Math.max(maxSuccCost, minSuccEft);
+        return oct;
+    }
+
+    private static void computeOctRow(DAG dag, int taskId, double[][] oct, double[] minOct) {
+        int processorCount = dag.getProcessorCount();
+        CsrGraph graph = dag.getGraph();
+        int[] succOffsets = graph.getSuccessorOffsets();
+        int[] succTargets = graph.getSuccessorTargets();
+        CommunicationCostTable commCosts = dag.getCommunicationCostTable();
+        boolean uniform = commCosts.isUniform();
+        Task task = dag.getTask(taskId);
+        double[] row = oct[taskId];
+
+        for (int pId = 0; pId < processorCount; pId++) {
+            double maxSuccCost = 0;
+            for (int e = succOffsets[taskId], end = succOffsets[taskId + 1]; e < end; e++) {
+                int succId = succTargets[e];
+                double minSuccOct;
+                double crossCost = uniform ? commCosts.uniformCost(e) : -1.0;
+                if (crossCost >= 0) {
+                    // **PERFORMANCE**: Uniform rates: staying on pId costs nothing, any other processor costs crossCost
+                    minSuccOct = Math.min(oct[succId][pId], minOct[succId] + crossCost);
+                } else {
+                    minSuccOct = Double.MAX_VALUE;
+                    for (int succPId = 0; succPId < processorCount; succPId++) {
+                        double commCost = commCosts.cost(e, pId, succPId);
+                        minSuccOct = Math.min(minSuccOct, oct[succId][succPId] + commCost);
                     }
-                    oct[taskId][procId] = dag.getComputationCost(taskId, procId) + maxSuccCost;
-                 }
-             }
+                }
+                maxSuccCost = Math.max(maxSuccCost, minSuccOct);
+            }
+            row[pId] = task.getComputationCost(pId) + maxSuccCost;
         }
 
-        return oct;
+        double min = Double.MAX_VALUE;
+        for (double value : row) {
+            min = Math.min(min, value);
+        }
+        minOct[taskId] = min;
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LocalSearchEngine類別：局部搜尋的鄰域掃描引擎
+ * 把一次鄰域掃描的移動切成連續區段，分給工作執行緒評估，每個執行緒使用自己的 LocalSearchWorkspace；
+ * 各區段的最佳移動再依區段順序合併（同分時取先列出的移動），
+ * 因此選出的移動與依序掃描完全相同，與執行緒數量無關。
+ */
+public final class LocalSearchEngine implements AutoCloseable {
+    // **PERFORMANCE**: 每個工作至少評估的移動數，移動太少時在呼叫端執行緒上依序掃描
+    private static final int MIN_MOVES_PER_TASK = 16;
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final int parallelism;
+    private final ThreadLocal<LocalSearchWorkspace> workspaces = ThreadLocal.withInitial(LocalSearchWorkspace::new);
+    private final AtomicLong scanIds = new AtomicLong();
+
+    /**
+     * @param parallelism 工作執行緒數（1 = 在呼叫端執行緒上依序掃描）；大於 1 時建立自己的執行緒池，close() 時關閉
+     */
+    public LocalSearchEngine(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.pool = (parallelism > 1) ? new ForkJoinPool(parallelism) : null;
+        this.ownsPool = true;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * 使用既有的執行緒池（例如 ACO 建構螞蟻的執行緒池），close() 不會關閉它
+     */
+    public LocalSearchEngine(ForkJoinPool pool) {
+        this.pool = pool;
+        this.ownsPool = false;
+        this.parallelism = pool.getParallelism();
+    }
+
+    /**
+     * 以策略改善排程
+     * @return 改善後的 makespan
+     */
+    public double improve(Schedule schedule, LocalSearchStrategy strategy, CancellationToken token) {
+        strategy.improve(schedule, this, token);
+        return schedule.evaluateFitness();
+    }
+
+    /**
+     * **PERFORMANCE**: 評估所有移動，回傳最佳且嚴格優於目前 makespan 的移動索引（沒有時為 -1）
+     * 取消時只比較已評估的移動。排程必須已評估，且掃描期間不可修改。
+     */
+    public int findBestMove(Schedule schedule, Neighborhood neighborhood, long[] moves, CancellationToken token) {
+        double baseline = schedule.evaluateFitness();
+        long scanId = scanIds.incrementAndGet();
+        int count = moves.length;
+        if (pool == null || count < 2 * MIN_MOVES_PER_TASK) {
+            double[] bestMakespan = {baseline};
+            int[] bestMove = {-1};
+            scan(schedule, neighborhood, moves, 0, count, scanId, token, bestMakespan, bestMove, 0);
+            return bestMove[0];
+        }
+
+        int chunkCount = Math.min(parallelism * TASKS_PER_THREAD, count / MIN_MOVES_PER_TASK);
+        double[] bestMakespan = new double[chunkCount];
+        int[] bestMove = new int[chunkCount];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(chunkCount);
+        for (int c = 0; c < chunkCount; c++) {
+            int from = (int) ((long) count * c / chunkCount);
+            int to = (int) ((long) count * (c + 1) / chunkCount);
+            int chunk = c;
+            bestMakespan[c] = baseline;
+            bestMove[c] = -1;
+            tasks.add(pool.submit(() -> scan(schedule, neighborhood, moves, from, to, scanId, token, bestMakespan, bestMove, chunk)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+
+        // 依區段順序合併：嚴格較小才取代，同分時保留較早的移動
+        int best = -1;
+        double bestValue = baseline;
+        for (int c = 0; c < chunkCount; c++) {
+            if (bestMove[c] != -1 && bestMakespan[c] < bestValue) {
+                bestValue = bestMakespan[c];
+                best = bestMove[c];
+            }
+        }
+        return best;
+    }
+
+    private void scan(Schedule schedule, Neighborhood neighborhood, long[] moves, int from, int to, long scanId,
+                      CancellationToken token, double[] bestMakespan, int[] bestMove, int slot) {
+        LocalSearchWorkspace workspace = workspaces.get();
+        workspace.beginScan(scanId, schedule);
+        double best = bestMakespan[slot];
+        int bestIndex = -1;
+        for (int i = from; i < to; i++) {
+            if (token.isCancelled()) {
+                break;
+            }
+            double makespan = neighborhood.evaluate(schedule, moves[i], workspace);
+            if (makespan < best) {
+                best = makespan;
+                bestIndex = i;
+            }
+        }
+        bestMakespan[slot] = best;
+        bestMove[slot] = bestIndex;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool && pool != null) {
+            pool.shutdown();
+        }
+    }
+}
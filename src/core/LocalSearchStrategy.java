@@ -0,0 +1,45 @@
+package core;
+
+/**
+ * LocalSearchStrategy介面：局部搜尋策略
+ * 策略決定使用哪些鄰域以及如何在鄰域間切換；鄰域的掃描交給 LocalSearchEngine（可平行）。
+ * 結束時排程已評估，且 makespan 不大於開始時。
+ */
+public interface LocalSearchStrategy {
+    /**
+     * @param token 在每次鄰域掃描前與掃描中檢查；取消時仍套用已找到的最佳改善移動
+     */
+    void improve(Schedule schedule, LocalSearchEngine engine, CancellationToken token);
+
+    /**
+     * 關鍵路徑上的任務換處理器（best improvement），結果與 Schedule.criticalPathLocalSearch 相同
+     */
+    static LocalSearchStrategy criticalPathReassign() {
+        return new NeighborhoodDescent(new CriticalPathReassignment());
+    }
+
+    /**
+     * 關鍵路徑任務與同處理器上前一個任務交換執行順序（best improvement）
+     */
+    static LocalSearchStrategy swapInOrder() {
+        return new NeighborhoodDescent(new OrderSwapNeighborhood());
+    }
+
+    /**
+     * 把關鍵路徑任務插入到同處理器上較早任務之前（best improvement）
+     */
+    static LocalSearchStrategy insertion() {
+        return new NeighborhoodDescent(new OrderInsertionNeighborhood());
+    }
+
+    /**
+     * 依序使用 換處理器 → 交換 → 插入 的 VND
+     */
+    static LocalSearchStrategy vnd() {
+        return vnd(new CriticalPathReassignment(), new OrderSwapNeighborhood(), new OrderInsertionNeighborhood());
+    }
+
+    static LocalSearchStrategy vnd(Neighborhood... neighborhoods) {
+        return new VariableNeighborhoodDescent(neighborhoods);
+    }
+}
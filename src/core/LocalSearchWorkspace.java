@@ -0,0 +1,78 @@
+package core;
+
+/**
+ * LocalSearchWorkspace類別：局部搜尋中每個工作執行緒的評估緩衝區
+ * 保存目前掃描的排程的分配與執行順序副本（鄰域在上面暫時套用移動），以及以該排程為基準的增量評估器；
+ * 兩者都在第一次使用時才依目前的掃描準備，同一次掃描中重複使用，穩定狀態下不配置記憶體。
+ * 由 LocalSearchEngine 依執行緒配置 (thread-confined)。
+ */
+public final class LocalSearchWorkspace {
+    private final DeltaEvaluator deltaEvaluator = new DeltaEvaluator();
+    private int[] assignment = new int[0];
+    private int[] order = new int[0];
+    private Schedule schedule;
+    private long scanId = -1;
+    private boolean copied;
+    private boolean deltaReady;
+
+    void beginScan(long scanId, Schedule schedule) {
+        if (this.scanId == scanId) {
+            return;
+        }
+        this.scanId = scanId;
+        this.schedule = schedule;
+        this.copied = false;
+        this.deltaReady = false;
+    }
+
+    /**
+     * 排程分配的副本（可暫時修改，評估後必須還原）
+     */
+    public int[] getAssignment() {
+        copy();
+        return assignment;
+    }
+
+    /**
+     * 排程執行順序的副本（可暫時修改，評估後必須還原）
+     */
+    public int[] getOrder() {
+        copy();
+        return order;
+    }
+
+    /**
+     * 以目前掃描的排程為基準的增量評估器（換處理器的移動，APPEND）
+     */
+    public DeltaEvaluator getDeltaEvaluator() {
+        if (!deltaReady) {
+            deltaEvaluator.reset(schedule.getDag(), schedule.getChromosome(), schedule.getTaskOrderArray());
+            deltaReady = true;
+        }
+        return deltaEvaluator;
+    }
+
+    /**
+     * 完整模擬用的評估緩衝區（目前執行緒專用）
+     */
+    public EvaluationContext getEvaluationContext() {
+        return EvaluationContext.current();
+    }
+
+    private void copy() {
+        if (copied) {
+            return;
+        }
+        int[] chromosome = schedule.getChromosome();
+        int[] taskOrder = schedule.getTaskOrderArray();
+        if (assignment.length != chromosome.length) {
+            assignment = new int[chromosome.length];
+        }
+        if (order.length != taskOrder.length) {
+            order = new int[taskOrder.length];
+        }
+        System.arraycopy(chromosome, 0, assignment, 0, chromosome.length);
+        System.arraycopy(taskOrder, 0, order, 0, taskOrder.length);
+        copied = true;
+    }
+}
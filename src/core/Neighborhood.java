@@ -0,0 +1,26 @@
+package core;
+
+/**
+ * Neighborhood介面：局部搜尋的鄰域
+ * 移動以 long 編碼（由各實作定義），鄰域本身不保存狀態，可由多個搜尋同時共用。
+ * generate 與 apply 在呼叫端執行緒上執行；evaluate 可由多個工作執行緒同時呼叫，
+ * 只讀取排程，並在該執行緒的 LocalSearchWorkspace 上模擬（評估後必須把工作區的陣列還原）。
+ */
+public interface Neighborhood {
+    String getName();
+
+    /**
+     * 列舉已評估排程的所有移動（順序決定同分時的選擇：取先列出者）
+     */
+    long[] generate(Schedule schedule);
+
+    /**
+     * 套用移動後的 makespan（不修改排程）
+     */
+    double evaluate(Schedule schedule, long move, LocalSearchWorkspace workspace);
+
+    /**
+     * 套用移動（排程標記為需要重新評估）
+     */
+    void apply(Schedule schedule, long move);
+}
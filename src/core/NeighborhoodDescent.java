@@ -0,0 +1,32 @@
+package core;
+
+/**
+ * NeighborhoodDescent類別：單一鄰域的 best improvement 下降法
+ * 每一輪掃描整個鄰域，套用最佳的改善移動，直到沒有改善為止。
+ */
+public final class NeighborhoodDescent implements LocalSearchStrategy {
+    private final Neighborhood neighborhood;
+
+    public NeighborhoodDescent(Neighborhood neighborhood) {
+        this.neighborhood = neighborhood;
+    }
+
+    @Override
+    public void improve(Schedule schedule, LocalSearchEngine engine, CancellationToken token) {
+        schedule.evaluateFitness();
+        while (!token.isCancelled()) {
+            long[] moves = neighborhood.generate(schedule);
+            int best = engine.findBestMove(schedule, neighborhood, moves, token);
+            if (best < 0) {
+                break;
+            }
+            neighborhood.apply(schedule, moves[best]);
+            schedule.evaluateFitness();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Descent(" + neighborhood.getName() + ")";
+    }
+}
@@ -0,0 +1,71 @@
+package core;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * OrderInsertionNeighborhood類別：把關鍵路徑上的任務在執行順序中提前，插入到同一處理器上較早任務之前
+ * 移動編碼：(原位置 << 32) | 目標位置。每個任務最多嘗試同處理器上前 MAX_TARGETS 個任務的位置，
+ * 且目標位置必須在該任務所有前驅之後（其間的任務依序後移一位，仍為拓撲順序）。
+ */
+public final class OrderInsertionNeighborhood implements Neighborhood {
+    private static final int MAX_TARGETS = 4;
+
+    @Override
+    public String getName() {
+        return "insertion";
+    }
+
+    @Override
+    public long[] generate(Schedule schedule) {
+        DAG dag = schedule.getDag();
+        int[] order = schedule.getTaskOrderArray();
+        int[] chromosome = schedule.getChromosome();
+        int[] position = OrderMoves.positions(dag, order);
+        List<Integer> criticalPath = schedule.findCriticalPath();
+        long[] moves = new long[criticalPath.size() * MAX_TARGETS];
+        int count = 0;
+        for (int taskId : criticalPath) {
+            int from = position[taskId];
+            int bound = OrderMoves.latestPredecessor(dag, position, taskId);
+            int target = from;
+            for (int k = 0; k < MAX_TARGETS; k++) {
+                target = OrderMoves.previousOnProcessor(order, chromosome, target);
+                if (target <= bound) {
+                    break;
+                }
+                moves[count++] = ((long) from << 32) | target;
+            }
+        }
+        return Arrays.copyOf(moves, count);
+    }
+
+    @Override
+    public double evaluate(Schedule schedule, long move, LocalSearchWorkspace workspace) {
+        int from = (int) (move >>> 32);
+        int to = (int) move;
+        int[] order = workspace.getOrder();
+        moveEarlier(order, from, to);
+        double makespan = workspace.getEvaluationContext().evaluate(schedule.getDag(), workspace.getAssignment(), order,
+                schedule.getSchedulingPolicy());
+        // 還原：原本在 to 的任務現在位於 from，移回 from
+        int taskId = order[to];
+        System.arraycopy(order, to + 1, order, to, from - to);
+        order[from] = taskId;
+        return makespan;
+    }
+
+    @Override
+    public void apply(Schedule schedule, long move) {
+        int[] order = schedule.getTaskOrderArray().clone();
+        moveEarlier(order, (int) (move >>> 32), (int) move);
+        schedule.setTaskOrder(order);
+    }
+
+    // order[from] 移到 to (to < from)，其間的任務後移一位
+    private static void moveEarlier(int[] order, int from, int to) {
+        int taskId = order[from];
+        System.arraycopy(order, to, order, to + 1, from - to);
+        order[to] = taskId;
+    }
+}
@@ -0,0 +1,67 @@
+package core;
+
+import java.util.Arrays;
+
+/**
+ * OrderMoves類別：執行順序鄰域共用的輔助方法（位置表與前驅 / 後繼的位置界線）
+ */
+final class OrderMoves {
+    private OrderMoves() {
+    }
+
+    /**
+     * position[task] = 在執行順序中的位置，-1 表示不在順序中
+     */
+    static int[] positions(DAG dag, int[] order) {
+        int[] position = new int[dag.getTaskCount()];
+        Arrays.fill(position, -1);
+        for (int i = 0; i < order.length; i++) {
+            position[order[i]] = i;
+        }
+        return position;
+    }
+
+    /**
+     * 位置 index 之前、與 order[index] 在同一處理器上的最近任務位置（沒有時為 -1）
+     */
+    static int previousOnProcessor(int[] order, int[] assignment, int index) {
+        int processorId = assignment[order[index]];
+        for (int i = index - 1; i >= 0; i--) {
+            if (assignment[order[i]] == processorId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 任務所有前驅中最晚的位置（沒有前驅時為 -1）
+     */
+    static int latestPredecessor(DAG dag, int[] position, int taskId) {
+        CsrGraph graph = dag.getGraph();
+        int[] offsets = graph.getPredecessorOffsets();
+        int[] sources = graph.getPredecessorSources();
+        int latest = -1;
+        for (int e = offsets[taskId]; e < offsets[taskId + 1]; e++) {
+            latest = Math.max(latest, position[sources[e]]);
+        }
+        return latest;
+    }
+
+    /**
+     * 任務所有後繼中最早的位置（沒有後繼時為 Integer.MAX_VALUE）
+     */
+    static int earliestSuccessor(DAG dag, int[] position, int taskId) {
+        CsrGraph graph = dag.getGraph();
+        int[] offsets = graph.getSuccessorOffsets();
+        int[] targets = graph.getSuccessorTargets();
+        int earliest = Integer.MAX_VALUE;
+        for (int e = offsets[taskId]; e < offsets[taskId + 1]; e++) {
+            int p = position[targets[e]];
+            if (p >= 0) {
+                earliest = Math.min(earliest, p);
+            }
+        }
+        return earliest;
+    }
+}
@@ -0,0 +1,65 @@
+package core;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * OrderSwapNeighborhood類別：關鍵路徑上的任務與同一處理器上的前一個任務交換執行順序
+ * 移動編碼：(較早位置 << 32) | 較晚位置。只列舉交換後仍為拓撲順序的移動：
+ * 被提前的任務所有前驅都在較早位置之前，被延後的任務所有後繼都在較晚位置之後。
+ */
+public final class OrderSwapNeighborhood implements Neighborhood {
+    @Override
+    public String getName() {
+        return "swap";
+    }
+
+    @Override
+    public long[] generate(Schedule schedule) {
+        DAG dag = schedule.getDag();
+        int[] order = schedule.getTaskOrderArray();
+        int[] chromosome = schedule.getChromosome();
+        int[] position = OrderMoves.positions(dag, order);
+        List<Integer> criticalPath = schedule.findCriticalPath();
+        long[] moves = new long[criticalPath.size()];
+        int count = 0;
+        for (int taskId : criticalPath) {
+            int later = position[taskId];
+            int earlier = OrderMoves.previousOnProcessor(order, chromosome, later);
+            if (earlier < 0) {
+                continue;
+            }
+            int other = order[earlier];
+            if (OrderMoves.latestPredecessor(dag, position, taskId) < earlier
+                    && OrderMoves.earliestSuccessor(dag, position, other) > later) {
+                moves[count++] = ((long) earlier << 32) | later;
+            }
+        }
+        return Arrays.copyOf(moves, count);
+    }
+
+    @Override
+    public double evaluate(Schedule schedule, long move, LocalSearchWorkspace workspace) {
+        int earlier = (int) (move >>> 32);
+        int later = (int) move;
+        int[] order = workspace.getOrder();
+        swap(order, earlier, later);
+        double makespan = workspace.getEvaluationContext().evaluate(schedule.getDag(), workspace.getAssignment(), order,
+                schedule.getSchedulingPolicy());
+        swap(order, earlier, later);
+        return makespan;
+    }
+
+    @Override
+    public void apply(Schedule schedule, long move) {
+        int[] order = schedule.getTaskOrderArray().clone();
+        swap(order, (int) (move >>> 32), (int) move);
+        schedule.setTaskOrder(order);
+    }
+
+    private static void swap(int[] order, int i, int j) {
+        int t = order[i];
+        order[i] = order[j];
+        order[j] = t;
+    }
+}
@@ -0,0 +1,180 @@
+package core;
+
+import java.util.Arrays;
+
+/**
+ * ProcessorCandidates類別：每個任務的候選處理器列表 (candidate list)
+ * 處理器很多時，排程器只評估每個任務的前 k 個處理器，建構成本與處理器數量無關。
+ *
+ * 候選由兩部分組成：
+ * 靜態部分依 計算成本 + OCT 由小到大選出；
+ * 其餘名額依資訊素由大到小選出（相同時依 計算成本 + OCT），由 refresh 定期以資訊素矩陣更新。
+ * 每個任務的候選以處理器編號遞增排列，與逐一評估所有處理器時的比較順序一致。
+ */
+public final class ProcessorCandidates {
+    private final DAG dag;
+    private final double[][] oct;
+    private final int taskCount;
+    private final int processorCount;
+    private final int size; // 每個任務的候選數 k
+    private final int staticCount; // 依 計算成本 + OCT 選出的名額
+    private final int[] staticTop; // staticTop[task * staticCount + j]，最佳者在前
+    private final int[] processors; // processors[task * size + j]，處理器編號遞增
+
+    private ProcessorCandidates(DAG dag, int size, int staticCount) {
+        this.dag = dag;
+        this.oct = Heuristics.getOptimisticCostTable(dag);
+        this.taskCount = dag.getTaskCount();
+        this.processorCount = dag.getProcessorCount();
+        this.size = size;
+        this.staticCount = staticCount;
+        this.staticTop = new int[taskCount * staticCount];
+        this.processors = new int[taskCount * size];
+    }
+
+    /**
+     * 只依 計算成本 + OCT 選出每個任務的前 k 個處理器（例如 HEFT 使用）
+     * @param candidatesPerTask k；大於處理器數時取處理器數
+     */
+    public static ProcessorCandidates build(DAG dag, int candidatesPerTask) {
+        int size = clampSize(dag, candidatesPerTask);
+        ProcessorCandidates candidates = new ProcessorCandidates(dag, size, size);
+        candidates.selectStatic();
+        candidates.refresh(null);
+        return candidates;
+    }
+
+    /**
+     * 靜態部分佔 k - k/2 個名額，其餘 k/2 個依資訊素選出
+     * @param pheromones 目前的資訊素，一維陣列 pheromones[task * P + processor]
+     */
+    public static ProcessorCandidates build(DAG dag, int candidatesPerTask, double[] pheromones) {
+        int size = clampSize(dag, candidatesPerTask);
+        ProcessorCandidates candidates = new ProcessorCandidates(dag, size, size - size / 2);
+        candidates.selectStatic();
+        candidates.refresh(pheromones);
+        return candidates;
+    }
+
+    private static int clampSize(DAG dag, int candidatesPerTask) {
+        if (candidatesPerTask < 1) {
+            throw new IllegalArgumentException("Candidate list size must be at least 1: " + candidatesPerTask);
+        }
+        return Math.min(candidatesPerTask, dag.getProcessorCount());
+    }
+
+    // 每個任務依 計算成本 + OCT 保留最小的 staticCount 個處理器（有序插入）
+    private void selectStatic() {
+        for (int taskId = 0; taskId < taskCount; taskId++) {
+            int base = taskId * staticCount;
+            int kept = 0;
+            for (int p = 0; p < processorCount; p++) {
+                double score = staticScore(taskId, p);
+                if (kept == staticCount && score >= staticScore(taskId, staticTop[base + kept - 1])) {
+                    continue; // 相同分數時保留編號較小的處理器
+                }
+                int j = (kept < staticCount) ? kept++ : kept - 1;
+                while (j > 0 && staticScore(taskId, staticTop[base + j - 1]) > score) {
+                    staticTop[base + j] = staticTop[base + j - 1];
+                    j--;
+                }
+                staticTop[base + j] = p;
+            }
+        }
+    }
+
+    private double staticScore(int taskId, int processorId) {
+        return dag.getTask(taskId).getComputationCost(processorId) + oct[taskId][processorId];
+    }
+
+    /**
+     * 依資訊素重新選出非靜態的名額
+     * @param pheromones 資訊素，一維陣列 pheromones[task * P + processor]；為 null 時只使用靜態部分
+     */
+    public void refresh(double[] pheromones) {
+        int pheromoneCount = size - staticCount;
+        for (int taskId = 0; taskId < taskCount; taskId++) {
+            int base = taskId * size;
+            System.arraycopy(staticTop, taskId * staticCount, processors, base, staticCount);
+            if (pheromoneCount > 0 && pheromones != null) {
+                selectByPheromone(taskId, pheromones, taskId * processorCount, base, pheromoneCount);
+            }
+            Arrays.sort(processors, base, base + size);
+        }
+    }
+
+    // 在靜態部分之外，以有序插入保留資訊素最大的 count 個處理器
+    private void selectByPheromone(int taskId, double[] pheromones, int rowStart, int base, int count) {
+        int start = base + staticCount;
+        int kept = 0;
+        for (int p = 0; p < processorCount; p++) {
+            if (isStatic(taskId, p)) {
+                continue;
+            }
+            if (kept == count && !precedes(taskId, pheromones, rowStart, p, processors[start + kept - 1])) {
+                continue;
+            }
+            int j = (kept < count) ? kept++ : kept - 1;
+            while (j > 0 && precedes(taskId, pheromones, rowStart, p, processors[start + j - 1])) {
+                processors[start + j] = processors[start + j - 1];
+                j--;
+            }
+            processors[start + j] = p;
+        }
+    }
+
+    // 資訊素較大者優先，其次 計算成本 + OCT 較小者（p 的編號較大，完全相同時不優先）
+    private boolean precedes(int taskId, double[] pheromones, int rowStart, int p, int other) {
+        if (pheromones[rowStart + p] != pheromones[rowStart + other]) {
+            return pheromones[rowStart + p] > pheromones[rowStart + other];
+        }
+        return staticScore(taskId, p) < staticScore(taskId, other);
+    }
+
+    private boolean isStatic(int taskId, int processorId) {
+        for (int j = taskId * staticCount, end = j + staticCount; j < end; j++) {
+            if (staticTop[j] == processorId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 每個任務的候選數 k
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 任務的第 j 個候選處理器（依編號遞增）
+     */
+    public int getProcessor(int taskId, int j) {
+        return processors[taskId * size + j];
+    }
+
+    /**
+     * **PERFORMANCE**: 以原始陣列取得所有候選，processors[task * getSize() + j]（呼叫端不可修改）
+     */
+    public int[] getProcessorArray() {
+        return processors;
+    }
+
+    /**
+     * **NEW**: 還原先前以 getProcessorArray() 取得的候選（例如從檢查點恢復）
+     */
+    public void restore(int[] candidates) {
+        if (candidates.length != processors.length) {
+            throw new IllegalArgumentException("Candidate array length mismatch: " + candidates.length + " != " + processors.length);
+        }
+        System.arraycopy(candidates, 0, processors, 0, processors.length);
+    }
+
+    /**
+     * 所有處理器都是候選時，等同於逐一評估所有處理器
+     */
+    public boolean coversAllProcessors() {
+        return size == processorCount;
+    }
+}
@@ -0,0 +1,276 @@
+package core;
+
+import java.util.Arrays;
+
+/**
+ * ProcessorTimeline類別：單一處理器上的閒置時段索引，供插入式排程 (SchedulingPolicy.INSERTION) 使用
+ * 已排定任務之間的空檔存放在以開始時間排序的 treap 中，每個節點記錄子樹內最長的空檔長度；
+ * 最後一個任務之後的無限時段另外記錄。查詢最早可放入的位置與佔用時段皆為期望 O(log n)。
+ *
+ * 節點以平行的原始陣列儲存並重複使用，reset 之後不必重新配置。
+ *
+ * 任務是否放得進空檔一律以 start + duration <= gapEnd 判斷（與 occupy 計算的結束時間相同），
+ * 不以長度 gapEnd - start 比較：兩者的捨入方向可能不同。maxLength 只用來保守地剪枝，
+ * 容許誤差為時間軸上最大時間的 2 ulp。
+ */
+public final class ProcessorTimeline {
+    private static final int NIL = -1;
+
+    private double[] gapStart = new double[16];
+    private double[] gapEnd = new double[16];
+    private double[] maxLength = new double[16]; // 子樹中最長的空檔
+    private int[] previousTask = new int[16];    // 在空檔開始時完成的任務，-1 表示無
+    private int[] priority = new int[16];
+    private int[] left = new int[16];
+    private int[] right = new int[16];
+    private int root = NIL;
+    private int nodeCount;
+    private int freeList = NIL;
+    private int gapCount;
+    private int randomState;
+
+    private double tailStart; // 最後一個任務的完成時間
+    private int tailTask;
+
+    public ProcessorTimeline() {
+        reset();
+    }
+
+    /**
+     * 清空處理器（整條時間軸都是閒置的）
+     */
+    public void reset() {
+        root = NIL;
+        nodeCount = 0;
+        freeList = NIL;
+        gapCount = 0;
+        randomState = 0x2545F491; // 固定種子：相同的操作序列得到相同的樹
+        tailStart = 0.0;
+        tailTask = -1;
+    }
+
+    /**
+     * 長度為 duration 的任務在 readyTime 之後最早可以開始的時間（長度為 0 的任務不佔用處理器，直接回傳 readyTime）
+     */
+    public double earliestStart(double readyTime, double duration) {
+        if (duration <= 0) {
+            return readyTime;
+        }
+        // 包含 readyTime 的空檔（開始時間 <= readyTime 的最後一個）
+        int floor = floor(readyTime);
+        if (floor != NIL && readyTime + duration <= gapEnd[floor]) {
+            return readyTime;
+        }
+        int fit = firstFit(root, readyTime, duration, duration - 2 * Math.ulp(tailStart));
+        if (fit != NIL) {
+            return gapStart[fit];
+        }
+        return Math.max(tailStart, readyTime);
+    }
+
+    /**
+     * 佔用 [start, start + duration)，start 必須由 earliestStart 取得（或位於同一個閒置時段中）
+     * @param taskId 佔用時段的任務
+     * @return 在 start 時刻完成的任務（start 為空檔開頭或最後一個任務的完成時間時），否則 -1
+     */
+    public int occupy(double start, double duration, int taskId) {
+        double end = start + duration;
+        int floor = floor(start);
+        if (duration <= 0) {
+            // 長度為 0 的任務不佔用時間軸
+            if (floor != NIL && gapStart[floor] == start) {
+                return previousTask[floor];
+            }
+            return (start == tailStart) ? tailTask : -1;
+        }
+        if (floor != NIL && gapEnd[floor] > start) {
+            double gapBegin = gapStart[floor];
+            double gapFinish = gapEnd[floor];
+            if (end > gapFinish) {
+                throw new IllegalArgumentException("Slot [" + start + ", " + end + ") overruns the idle gap ending at " + gapFinish);
+            }
+            int before = previousTask[floor];
+            root = remove(root, gapBegin);
+            if (start > gapBegin) {
+                addGap(gapBegin, start, before);
+            }
+            if (gapFinish > end) {
+                addGap(end, gapFinish, taskId);
+            }
+            return (gapBegin == start) ? before : -1;
+        }
+        if (start < tailStart) {
+            throw new IllegalArgumentException("Slot [" + start + ", " + end + ") is not idle");
+        }
+        int before = (start == tailStart) ? tailTask : -1;
+        if (start > tailStart) {
+            addGap(tailStart, start, tailTask);
+        }
+        tailStart = end;
+        tailTask = taskId;
+        return before;
+    }
+
+    /**
+     * 最後一個任務的完成時間（APPEND 模式下的處理器準備時間）
+     */
+    public double getReadyTime() {
+        return tailStart;
+    }
+
+    /**
+     * 目前記錄的有限空檔數
+     */
+    public int getGapCount() {
+        return gapCount;
+    }
+
+    // --- treap ---
+
+    private void addGap(double start, double end, int before) {
+        int node = allocate();
+        gapStart[node] = start;
+        gapEnd[node] = end;
+        maxLength[node] = end - start;
+        previousTask[node] = before;
+        left[node] = NIL;
+        right[node] = NIL;
+        randomState ^= randomState << 13;
+        randomState ^= randomState >>> 17;
+        randomState ^= randomState << 5;
+        priority[node] = randomState;
+        root = insert(root, node);
+        gapCount++;
+    }
+
+    private int allocate() {
+        if (freeList != NIL) {
+            int node = freeList;
+            freeList = right[node];
+            return node;
+        }
+        if (nodeCount == gapStart.length) {
+            int capacity = nodeCount * 2;
+            gapStart = Arrays.copyOf(gapStart, capacity);
+            gapEnd = Arrays.copyOf(gapEnd, capacity);
+            maxLength = Arrays.copyOf(maxLength, capacity);
+            previousTask = Arrays.copyOf(previousTask, capacity);
+            priority = Arrays.copyOf(priority, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+        }
+        return nodeCount++;
+    }
+
+    private int insert(int tree, int node) {
+        if (tree == NIL) {
+            return node;
+        }
+        if (gapStart[node] < gapStart[tree]) {
+            left[tree] = insert(left[tree], node);
+            if (priority[left[tree]] > priority[tree]) {
+                tree = rotateRight(tree);
+            }
+        } else {
+            right[tree] = insert(right[tree], node);
+            if (priority[right[tree]] > priority[tree]) {
+                tree = rotateLeft(tree);
+            }
+        }
+        update(tree);
+        return tree;
+    }
+
+    private int remove(int tree, double start) {
+        if (start < gapStart[tree]) {
+            left[tree] = remove(left[tree], start);
+        } else if (start > gapStart[tree]) {
+            right[tree] = remove(right[tree], start);
+        } else {
+            int merged = merge(left[tree], right[tree]);
+            right[tree] = freeList;
+            freeList = tree;
+            gapCount--;
+            return merged;
+        }
+        update(tree);
+        return tree;
+    }
+
+    // a 中所有空檔都在 b 之前
+    private int merge(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private int rotateRight(int tree) {
+        int pivot = left[tree];
+        left[tree] = right[pivot];
+        right[pivot] = tree;
+        update(tree);
+        update(pivot);
+        return pivot;
+    }
+
+    private int rotateLeft(int tree) {
+        int pivot = right[tree];
+        right[tree] = left[pivot];
+        left[pivot] = tree;
+        update(tree);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(int node) {
+        double longest = gapEnd[node] - gapStart[node];
+        if (left[node] != NIL && maxLength[left[node]] > longest) {
+            longest = maxLength[left[node]];
+        }
+        if (right[node] != NIL && maxLength[right[node]] > longest) {
+            longest = maxLength[right[node]];
+        }
+        maxLength[node] = longest;
+    }
+
+    // 開始時間 <= time 的最後一個空檔
+    private int floor(double time) {
+        int result = NIL;
+        int node = root;
+        while (node != NIL) {
+            if (gapStart[node] <= time) {
+                result = node;
+                node = right[node];
+            } else {
+                node = left[node];
+            }
+        }
+        return result;
+    }
+
+    // 開始時間 >= from 且 gapStart + duration <= gapEnd 的第一個空檔；
+    // 最長空檔小於 minLength（duration 減去捨入容許誤差）的子樹一定放不下
+    private int firstFit(int node, double from, double duration, double minLength) {
+        if (node == NIL || maxLength[node] < minLength) {
+            return NIL;
+        }
+        if (gapStart[node] < from) {
+            return firstFit(right[node], from, duration, minLength);
+        }
+        int found = firstFit(left[node], from, duration, minLength);
+        if (found != NIL) {
+            return found;
+        }
+        if (gapStart[node] + duration <= gapEnd[node]) {
+            return node;
+        }
+        return firstFit(right[node], from, duration, minLength);
+    }
+}
@@ -0,0 +1,48 @@
+package core;
+
+/**
+ * RowKernel介面：排程熱迴圈中以處理器為維度的逐元素運算
+ * 每一列對應一個任務在所有處理器上的值，元素之間互相獨立，可由 SIMD 實作平行計算。
+ *
+ * 所有實作的結果必須與 ScalarRowKernel 逐位元相同（不使用 FMA，運算順序一致）。
+ * 由 RowKernels.current() 在啟動時選定實作。
+ */
+public interface RowKernel {
+
+    /**
+     * row[i] = max(row[i], base + addends[i])
+     */
+    void maxOfSums(double[] row, int rowStart, double base, double[] addends, int addendStart, int width);
+
+    /**
+     * row[i] = max(row[i], base + scale × factors[i])
+     */
+    void maxOfScaledSums(double[] row, int rowStart, double base, double scale, double[] factors, int factorStart, int width);
+
+    /**
+     * row[i] = max(row[i], value)
+     */
+    void maxOfValue(double[] row, int rowStart, double value, int width);
+
+    /**
+     * 最早完成時間：out[i] = max(readyTimes[i], dataReady[i]) + costs[i]
+     */
+    void finishTimes(double[] readyTimes, double[] dataReady, int dataReadyStart, double[] costs,
+                     double[] out, int outStart, int width);
+
+    /**
+     * ACO 啟發式資訊：out[i] = (1 / EFT) × rank，EFT 為 0 時以 0.0001 代替
+     */
+    void heuristics(double[] readyTimes, double[] dataReady, int dataReadyStart, double[] costs, double rank,
+                    double[] out, int outStart, int width);
+
+    /**
+     * row[i] = factors[factorStart + i] × row[i]
+     */
+    void multiply(double[] row, int rowStart, double[] factors, int factorStart, int width);
+
+    /**
+     * row[i] = factors[factorStart + i] × (row[i] × row[i])
+     */
+    void multiplySquares(double[] row, int rowStart, double[] factors, int factorStart, int width);
+}
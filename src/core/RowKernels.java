@@ -0,0 +1,40 @@
+package core;
+
+/**
+ * RowKernels類別：在啟動時選定 RowKernel 實作
+ * 若 JVM 載入了 jdk.incubator.vector 模組 (--add-modules jdk.incubator.vector) 且 classpath 上有
+ * 以 src-vector 編譯的 core.VectorRowKernel，使用 SIMD 實作；否則使用 ScalarRowKernel。
+ * 系統屬性 row.kernel=scalar 可強制使用純量實作。
+ */
+public final class RowKernels {
+    private static final String VECTOR_KERNEL_CLASS = "core.VectorRowKernel";
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final RowKernel CURRENT = select();
+
+    private RowKernels() {
+    }
+
+    /**
+     * 目前使用的實作（整個 JVM 共用，無狀態）
+     */
+    public static RowKernel current() {
+        return CURRENT;
+    }
+
+    private static RowKernel select() {
+        if ("scalar".equals(System.getProperty("row.kernel"))) {
+            return new ScalarRowKernel();
+        }
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return new ScalarRowKernel();
+        }
+        try {
+            Class<?> vectorKernel = Class.forName(VECTOR_KERNEL_CLASS);
+            return (RowKernel) vectorKernel.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // 未編譯 src-vector，或此平台無法使用 Vector API
+            return new ScalarRowKernel();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package core;
+
+/**
+ * ScalarRowKernel類別：RowKernel 的純量實作，也是所有實作的參考語意
+ */
+public final class ScalarRowKernel implements RowKernel {
+
+    @Override
+    public void maxOfSums(double[] row, int rowStart, double base, double[] addends, int addendStart, int width) {
+        for (int i = 0; i < width; i++) {
+            double value = base + addends[addendStart + i];
+            if (value > row[rowStart + i]) {
+                row[rowStart + i] = value;
+            }
+        }
+    }
+
+    @Override
+    public void maxOfScaledSums(double[] row, int rowStart, double base, double scale, double[] factors, int factorStart, int width) {
+        for (int i = 0; i < width; i++) {
+            double value = base + scale * factors[factorStart + i];
+            if (value > row[rowStart + i]) {
+                row[rowStart + i] = value;
+            }
+        }
+    }
+
+    @Override
+    public void maxOfValue(double[] row, int rowStart, double value, int width) {
+        for (int i = 0; i < width; i++) {
+            if (value > row[rowStart + i]) {
+                row[rowStart + i] = value;
+            }
+        }
+    }
+
+    @Override
+    public void finishTimes(double[] readyTimes, double[] dataReady, int dataReadyStart, double[] costs,
+                            double[] out, int outStart, int width) {
+        for (int i = 0; i < width; i++) {
+            out[outStart + i] = Math.max(readyTimes[i], dataReady[dataReadyStart + i]) + costs[i];
+        }
+    }
+
+    @Override
+    public void heuristics(double[] readyTimes, double[] dataReady, int dataReadyStart, double[] costs, double rank,
+                           double[] out, int outStart, int width) {
+        for (int i = 0; i < width; i++) {
+            double eft = Math.max(readyTimes[i], dataReady[dataReadyStart + i]) + costs[i];
+            if (eft == 0) eft = 0.0001; // Avoid division by zero
+            out[outStart + i] = (1.0 / eft) * rank;
+        }
+    }
+
+    @Override
+    public void multiply(double[] row, int rowStart, double[] factors, int factorStart, int width) {
+        for (int i = 0; i < width; i++) {
+            row[rowStart + i] = factors[factorStart + i] * row[rowStart + i];
+        }
+    }
+
+    @Override
+    public void multiplySquares(double[] row, int rowStart, double[] factors, int factorStart, int width) {
+        for (int i = 0; i < width; i++) {
+            double value = row[rowStart + i];
+            row[rowStart + i] = factors[factorStart + i] * (value * value);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package core;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.random.RandomGenerator;
 
 /**
  * Schedule類別：表示一個調度方案
@@ -9,20 +9,21 @@ import java.util.stream.Collectors;
  */
 public class Schedule {
     private int[] chromosome; // 染色體：chromosome[i] = j 表示任務i分配給處理器j
-    private List<Integer> taskOrder; // 排序染色體：任務的執行順序
+    private int[] taskOrder; // 排序染色體：任務的執行順序
     private double makespan; // 總完成時間（適應度值）
     private boolean isEvaluated;
     private DAG dag; // DAG參考
+    private SchedulingPolicy policy = SchedulingPolicy.APPEND; // 任務在處理器上的放置方式
 
-    // 用於追蹤關鍵路徑
-    private Map<Integer, Integer> criticalPathLinks; 
+    // 用於追蹤關鍵路徑：criticalPathLinks[i] 為任務 i 的關鍵前驅，-1 表示無
+    private int[] criticalPathLinks;
+    private int criticalPathExit = -1;
     
     public Schedule(DAG dag) {
         this.dag = dag;
         this.chromosome = new int[dag.getTaskCount()];
         this.makespan = 0.0;
         this.isEvaluated = false;
-        this.criticalPathLinks = new HashMap<>();
     }
     
     public Schedule(DAG dag, int[] assignment) {
@@ -35,7 +36,16 @@ public class Schedule {
      */
     public Schedule(DAG dag, int[] assignment, List<Integer> taskOrder) {
         this(dag, assignment);
-        this.taskOrder = new ArrayList<>(taskOrder);
+        this.taskOrder = toArray(taskOrder);
+        this.isEvaluated = false; // Needs evaluation with the new order
+    }
+    
+    /**
+     * **PERFORMANCE**: Constructor taking the task order as a primitive array (copied).
+     */
+    public Schedule(DAG dag, int[] assignment, int[] taskOrder) {
+        this(dag, assignment);
+        this.taskOrder = Arrays.copyOf(taskOrder, taskOrder.length);
         this.isEvaluated = false; // Needs evaluation with the new order
     }
     
@@ -45,10 +55,20 @@ public class Schedule {
     public Schedule(Schedule other) {
         this.dag = other.dag;
         this.chromosome = Arrays.copyOf(other.chromosome, other.chromosome.length);
-        this.taskOrder = (other.taskOrder != null) ? new ArrayList<>(other.taskOrder) : null;
+        this.taskOrder = (other.taskOrder != null) ? Arrays.copyOf(other.taskOrder, other.taskOrder.length) : null;
         this.makespan = other.makespan;
         this.isEvaluated = other.isEvaluated;
-        this.criticalPathLinks = new HashMap<>(other.criticalPathLinks);
+        this.policy = other.policy;
+        this.criticalPathLinks = (other.criticalPathLinks != null) ? Arrays.copyOf(other.criticalPathLinks, other.criticalPathLinks.length) : null;
+        this.criticalPathExit = other.criticalPathExit;
+    }
+    
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
     }
     
     @Override
@@ -57,12 +77,12 @@ public class Schedule {
         if (o == null || getClass() != o.getClass()) return false;
         Schedule schedule = (Schedule) o;
         return Arrays.equals(chromosome, schedule.chromosome) &&
-               Objects.equals(taskOrder, schedule.taskOrder);
+               Arrays.equals(taskOrder, schedule.taskOrder);
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(taskOrder);
+        int result = 31 + Arrays.hashCode(taskOrder);
         result = 31 * result + Arrays.hashCode(chromosome);
         return result;
     }
@@ -74,70 +94,30 @@ public class Schedule {
     
     /**
      * 計算調度方案的適應度（makespan），並記錄關鍵路徑信息
+     * **PERFORMANCE**: 模擬在執行緒專用的 EvaluationContext 中進行，不配置暫存陣列。
      */
     public double evaluateFitness() {
         if (isEvaluated) {
             return makespan;
         }
         
-        double[] actualFinishTimes = new double[dag.getTaskCount()];
-        double[] processorFinishTimes = new double[dag.getProcessorCount()];
-        int[] lastTaskOnProcessor = new int[dag.getProcessorCount()];
-        Arrays.fill(lastTaskOnProcessor, -1);
-
-        this.criticalPathLinks.clear();
-
-        if (this.taskOrder == null || this.taskOrder.isEmpty()) {
-            this.taskOrder = Heuristics.getRankedTasks(dag).stream()
-                                  .map(Task::getTaskId)
-                                  .collect(Collectors.toList());
-        }
-        
-        for (int taskId : this.taskOrder) {
-            int processorId = chromosome[taskId];
-            
-            double processorReadyTime = processorFinishTimes[processorId];
-            
-            double maxPredAFT = 0.0;
-            int dataCriticalPred = -1;
-
-            for (int predId : dag.getTask(taskId).getPredecessors()) {
-                int predProcessorId = chromosome[predId];
-                double commCost = dag.getCommunicationCost(predId, taskId, predProcessorId, processorId);
-                double dataReadyTime = actualFinishTimes[predId] + commCost;
-                if (dataReadyTime > maxPredAFT) {
-                    maxPredAFT = dataReadyTime;
-                    dataCriticalPred = predId;
-                }
+        if (this.taskOrder == null || this.taskOrder.length == 0) {
+            List<Task> rankedTasks = Heuristics.getRankedTasks(dag);
+            this.taskOrder = new int[rankedTasks.size()];
+            for (int i = 0; i < taskOrder.length; i++) {
+                taskOrder[i] = rankedTasks.get(i).getTaskId();
             }
-            
-            double ast;
-            if (processorReadyTime > maxPredAFT) {
-                ast = processorReadyTime;
-                criticalPathLinks.put(taskId, lastTaskOnProcessor[processorId]);
-            } else {
-                ast = maxPredAFT;
-                criticalPathLinks.put(taskId, dataCriticalPred);
-            }
-            
-            double executionTime = dag.getTask(taskId).getComputationCost(processorId);
-            double aft = ast + executionTime;
-            
-            actualFinishTimes[taskId] = aft;
-            processorFinishTimes[processorId] = aft;
-            lastTaskOnProcessor[processorId] = taskId;
         }
         
-        makespan = 0.0;
-        int exitNodeId = -1;
-        for (int i = 0; i < dag.getTaskCount(); i++) {
-            if (actualFinishTimes[i] > makespan) {
-                makespan = actualFinishTimes[i];
-                exitNodeId = i;
-            }
-        }
+        EvaluationContext context = EvaluationContext.current();
+        makespan = context.evaluate(dag, chromosome, taskOrder, policy);
         
-        criticalPathLinks.put(-1, exitNodeId); // Use -1 as a special key to store the exit node
+        int taskCount = dag.getTaskCount();
+        if (criticalPathLinks == null) {
+            criticalPathLinks = new int[taskCount];
+        }
+        System.arraycopy(context.getParentLinks(), 0, criticalPathLinks, 0, taskCount);
+        criticalPathExit = context.getExitTask();
 
         isEvaluated = true;
         return makespan;
@@ -155,6 +135,15 @@ public class Schedule {
      * **MODIFIED**: Implemented with a "Best Improvement" strategy for better stability.
      */
     public void criticalPathLocalSearch() {
+        criticalPathLocalSearch(CancellationToken.NONE);
+    }
+
+    /**
+     * **NEW**: Local search that stops cooperatively: the token is checked before each critical-path task's
+     * neighbourhood scan. On cancellation the best improving move found so far is still applied,
+     * so the schedule is always evaluated and never worse than before the call.
+     */
+    public void criticalPathLocalSearch(CancellationToken token) {
         boolean improvementFound;
         do {
             improvementFound = false;
@@ -165,21 +154,41 @@ public class Schedule {
                 break; // No critical path found, nothing to optimize
             }
 
+            // **PERFORMANCE**: Incremental evaluator re-simulates only the region affected by each move
+            // (APPEND only; insertion moves are re-simulated in full)
+            boolean append = (policy == SchedulingPolicy.APPEND);
+            DeltaEvaluator delta = null;
+            EvaluationContext context = null;
+            if (append) {
+                delta = DeltaEvaluator.current();
+                delta.reset(dag, chromosome, taskOrder);
+            } else {
+                context = EvaluationContext.current();
+            }
             double bestMakespanInNeighborhood = this.makespan;
             int bestTaskToMove = -1;
             int bestTargetProcessor = -1;
 
             // --- Best Improvement Search: Find the single best move in the neighborhood ---
+            boolean cancelled = false;
             for (int taskId : criticalPath) {
+                if (token.isCancelled()) {
+                    cancelled = true;
+                    break;
+                }
                 int originalProcessor = this.chromosome[taskId];
 
                 for (int pId = 0; pId < dag.getProcessorCount(); pId++) {
                     if (pId == originalProcessor) continue;
 
-                    // Create a temporary schedule to evaluate the move
-                    Schedule tempSchedule = new Schedule(this);
-                    tempSchedule.chromosome[taskId] = pId;
-                    double newMakespan = tempSchedule.evaluateFitness();
+                    double newMakespan;
+                    if (append) {
+                        newMakespan = delta.evaluateMove(taskId, pId);
+                    } else {
+                        this.chromosome[taskId] = pId;
+                        newMakespan = context.evaluate(dag, chromosome, taskOrder, policy);
+                        this.chromosome[taskId] = originalProcessor;
+                    }
 
                     if (newMakespan < bestMakespanInNeighborhood) {
                         bestMakespanInNeighborhood = newMakespan;
@@ -194,7 +203,7 @@ public class Schedule {
                 this.chromosome[bestTaskToMove] = bestTargetProcessor;
                 this.isEvaluated = false; // Mark for re-evaluation
                 evaluateFitness(); // Update schedule to the new best state
-                improvementFound = true;
+                improvementFound = !cancelled;
             }
 
         } while (improvementFound);
@@ -209,11 +218,11 @@ public class Schedule {
         }
         
         List<Integer> path = new ArrayList<>();
-        Integer currentNodeId = criticalPathLinks.get(-1); // Get exit node
+        int currentNodeId = criticalPathExit;
 
-        while (currentNodeId != null && currentNodeId != -1) {
+        while (currentNodeId != -1) {
             path.add(currentNodeId);
-            currentNodeId = criticalPathLinks.get(currentNodeId);
+            currentNodeId = criticalPathLinks[currentNodeId];
         }
         
         Collections.reverse(path);
@@ -221,19 +230,65 @@ public class Schedule {
     }
 
     // Getters and Setters
+    public DAG getDag() {
+        return dag;
+    }
+
     public int[] getChromosome() {
         return chromosome;
     }
+
+    /**
+     * **NEW**: Moves a task to another processor; the schedule is re-evaluated on the next access.
+     */
+    public void reassign(int taskId, int processorId) {
+        this.chromosome[taskId] = processorId;
+        this.isEvaluated = false;
+    }
     
     public List<Integer> getTaskOrder() {
+        if (taskOrder == null) {
+            return null;
+        }
+        List<Integer> order = new ArrayList<>(taskOrder.length);
+        for (int taskId : taskOrder) {
+            order.add(taskId);
+        }
+        return order;
+    }
+    
+    /**
+     * **PERFORMANCE**: The task order as the internal primitive array (callers must not modify it).
+     */
+    public int[] getTaskOrderArray() {
         return taskOrder;
     }
 
     public void setTaskOrder(List<Integer> taskOrder) {
-        this.taskOrder = taskOrder;
+        this.taskOrder = (taskOrder != null) ? toArray(taskOrder) : null;
+        this.isEvaluated = false; 
+    }
+    
+    /**
+     * 與建構子相同，複製傳入的陣列（之後修改該陣列不影響此排程）
+     */
+    public void setTaskOrder(int[] taskOrder) {
+        this.taskOrder = (taskOrder != null) ? Arrays.copyOf(taskOrder, taskOrder.length) : null;
         this.isEvaluated = false; 
     }
     
+    /**
+     * **NEW**: 任務在處理器上的放置方式（預設 APPEND）
+     */
+    public SchedulingPolicy getSchedulingPolicy() {
+        return policy;
+    }
+
+    public void setSchedulingPolicy(SchedulingPolicy policy) {
+        this.policy = policy;
+        this.isEvaluated = false;
+    }
+
     public double getMakespan() {
         if (!isEvaluated) {
             evaluateFitness();
@@ -274,7 +329,7 @@ public class Schedule {
      * @param mutationRate The probability of each task being mutated.
      * @param random The random number generator to use.
      */
-    public void mutate(double mutationRate, Random random) {
+    public void mutate(double mutationRate, RandomGenerator random) {
         for (int i = 0; i < this.chromosome.length; i++) {
             if (random.nextDouble() < mutationRate) {
                 this.chromosome[i] = random.nextInt(dag.getProcessorCount());
@@ -0,0 +1,16 @@
+package core;
+
+/**
+ * SchedulingPolicy列舉：任務在處理器上的放置方式
+ */
+public enum SchedulingPolicy {
+    /**
+     * 任務只能接在處理器上最後一個任務之後（每個處理器只記錄一個準備時間）
+     */
+    APPEND,
+
+    /**
+     * 任務可放入處理器上任何足夠長的閒置時段（ProcessorTimeline），重複利用等待數據時留下的空檔
+     */
+    INSERTION
+}
@@ -12,6 +12,10 @@ public class Task {
     private List<Integer> predecessors; // 前驅任務列表
     private List<Integer> successors;   // 後繼任務列表
     private Map<Integer, Integer> dataTransferVolume; // 與其他任務的數據傳輸量
+    private final List<Integer> predecessorView; // 對外回傳的唯讀檢視
+    private final List<Integer> successorView;
+    private final Map<Integer, Integer> dataTransferVolumeView;
+    private volatile CsrGraph pendingGraph; // **PERFORMANCE**: 尚未展開成列表的依賴關係，第一次存取時才建立
     
     public Task(int taskId, int processorCount) {
         this.taskId = taskId;
@@ -19,6 +23,9 @@ public class Task {
         this.predecessors = new ArrayList<>();
         this.successors = new ArrayList<>();
         this.dataTransferVolume = new HashMap<>();
+        this.predecessorView = Collections.unmodifiableList(predecessors);
+        this.successorView = Collections.unmodifiableList(successors);
+        this.dataTransferVolumeView = Collections.unmodifiableMap(dataTransferVolume);
     }
     
     // Getters and Setters
@@ -39,39 +46,69 @@ public class Task {
     }
     
     public List<Integer> getPredecessors() {
-        return predecessors;
+        expandDependencies();
+        return predecessorView;
     }
     
     public List<Integer> getSuccessors() {
-        return successors;
+        expandDependencies();
+        return successorView;
     }
     
-    public void addPredecessor(int taskId) {
-        if (!predecessors.contains(taskId)) {
-            predecessors.add(taskId);
-        }
+    /**
+     * **PERFORMANCE**: 以已去除重複邊的 CSR 圖作為依賴關係來源。
+     * 排程器直接使用 CsrGraph，列表與數據量表只在有人存取時才展開，載入大型 DAG 時不必配置。
+     * 依賴關係只能經由 DAG 載入時建立的 CsrGraph 設定（回傳的列表與數據量表是唯讀檢視），因此不提供新增邊或修改數據量的方法。
+     */
+    void setDependencies(CsrGraph graph) {
+        this.pendingGraph = graph;
+        this.predecessors.clear();
+        this.successors.clear();
+        this.dataTransferVolume.clear();
     }
     
-    public void addSuccessor(int taskId) {
-        if (!successors.contains(taskId)) {
-            successors.add(taskId);
+    private void expandDependencies() {
+        if (pendingGraph != null) {
+            expandDependenciesSlow();
         }
     }
     
-    public Map<Integer, Integer> getDataTransferVolume() {
-        return dataTransferVolume;
+    // 多個執行緒可能同時第一次存取：展開完成後才清除 pendingGraph
+    private synchronized void expandDependenciesSlow() {
+        CsrGraph graph = pendingGraph;
+        if (graph == null) {
+            return;
+        }
+        int[] predOffsets = graph.getPredecessorOffsets();
+        int[] predSources = graph.getPredecessorSources();
+        int[] succOffsets = graph.getSuccessorOffsets();
+        int[] succTargets = graph.getSuccessorTargets();
+        int[] succVolumes = graph.getSuccessorVolumes();
+        for (int e = predOffsets[taskId]; e < predOffsets[taskId + 1]; e++) {
+            predecessors.add(predSources[e]);
+        }
+        for (int e = succOffsets[taskId]; e < succOffsets[taskId + 1]; e++) {
+            successors.add(succTargets[e]);
+            if (succVolumes[e] > 0) {
+                dataTransferVolume.put(succTargets[e], succVolumes[e]);
+            }
+        }
+        pendingGraph = null;
     }
     
-    public void setDataTransferVolume(int toTaskId, int volume) {
-        this.dataTransferVolume.put(toTaskId, volume);
+    public Map<Integer, Integer> getDataTransferVolume() {
+        expandDependencies();
+        return dataTransferVolumeView;
     }
     
     public int getDataTransferVolume(int toTaskId) {
+        expandDependencies();
         return dataTransferVolume.getOrDefault(toTaskId, 0);
     }
     
     @Override
     public String toString() {
+        expandDependencies();
         return "Task{" +
                 "taskId=" + taskId +
                 ", predecessors=" + predecessors +
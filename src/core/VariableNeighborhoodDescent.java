@@ -0,0 +1,42 @@
+package core;
+
+import java.util.Arrays;
+
+/**
+ * VariableNeighborhoodDescent類別：變動鄰域下降法 (VND)
+ * 依序掃描各鄰域：找到改善時套用最佳移動並回到第一個鄰域，否則換下一個鄰域；
+ * 所有鄰域都沒有改善時結束（對所有鄰域都是局部最佳）。
+ */
+public final class VariableNeighborhoodDescent implements LocalSearchStrategy {
+    private final Neighborhood[] neighborhoods;
+
+    public VariableNeighborhoodDescent(Neighborhood... neighborhoods) {
+        if (neighborhoods.length == 0) {
+            throw new IllegalArgumentException("At least one neighborhood is required");
+        }
+        this.neighborhoods = neighborhoods.clone();
+    }
+
+    @Override
+    public void improve(Schedule schedule, LocalSearchEngine engine, CancellationToken token) {
+        schedule.evaluateFitness();
+        int k = 0;
+        while (k < neighborhoods.length && !token.isCancelled()) {
+            Neighborhood neighborhood = neighborhoods[k];
+            long[] moves = neighborhood.generate(schedule);
+            int best = engine.findBestMove(schedule, neighborhood, moves, token);
+            if (best < 0) {
+                k++;
+                continue;
+            }
+            neighborhood.apply(schedule, moves[best]);
+            schedule.evaluateFitness();
+            k = 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "VND" + Arrays.toString(Arrays.stream(neighborhoods).map(Neighborhood::getName).toArray());
+    }
+}